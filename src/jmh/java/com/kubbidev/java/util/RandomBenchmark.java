@@ -0,0 +1,73 @@
+package com.kubbidev.java.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the draw throughput of {@link RandomUtil} and {@link RandomWheel} when many threads draw at once.
+ *
+ * <p>The {@code shared} generator is a single {@link Random} shared by all threads, as these classes
+ * used to have, and serves as the baseline. Run with {@code -t 1}, {@code -t 4}, ... {@code -t max}
+ * to see how the throughput scales with the number of threads.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class RandomBenchmark {
+
+    @Param({"shared", "threadLocal", "seeded"})
+    private String generator;
+
+    private RandomWheel<String> wheel;
+
+    @Setup
+    public void setup() {
+        switch (this.generator) {
+            case "shared" -> {
+                Random random = new Random(42);
+                RandomUtil.setGenerator(() -> random);
+            }
+            case "threadLocal" -> RandomUtil.setGenerator(RandomUtil.threadLocalGenerators());
+            case "seeded" -> RandomUtil.setSeed(42);
+            default -> throw new IllegalArgumentException("Unknown generator: " + this.generator);
+        }
+
+        this.wheel = new RandomWheel<>();
+        for (int i = 0; i < 16; i++) {
+            this.wheel.addWheelSection(i + 1, "section-" + i);
+        }
+        this.wheel.draw();
+    }
+
+    @Benchmark
+    public int randomUtil() {
+        return RandomUtil.get(1000);
+    }
+
+    @Benchmark
+    public double randomUtilDouble() {
+        return RandomUtil.getDouble(1, 10);
+    }
+
+    @Benchmark
+    public String randomWheel() {
+        return this.wheel.draw();
+    }
+}
@@ -0,0 +1,97 @@
+package com.kubbidev.java.util.duration;
+
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the {@link DurationParser} scanner with the regex it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DurationParserBenchmark {
+
+    @Param({"2h", "1y2mo3w", "5 minutes, 30 seconds", "1 year 2 months 3 weeks 4 days 5 hours 6 minutes 7 seconds"})
+    private String input;
+
+    @Benchmark
+    public Duration regex() {
+        return RegexDurationParser.parseDuration(this.input);
+    }
+
+    @Benchmark
+    public Duration parseDuration() {
+        return DurationParser.parseDuration(this.input);
+    }
+
+    @Benchmark
+    public long parseToMillis() {
+        return DurationParser.parseToMillis(this.input);
+    }
+
+    /**
+     * The regex based parser {@link DurationParser} used to be.
+     */
+    private static final class RegexDurationParser {
+
+        private static final Map<ChronoUnit, String> UNITS_PATTERNS = ImmutableMap.<ChronoUnit, String>builder()
+                .put(ChronoUnit.YEARS, "y(?:ear)?s?")
+                .put(ChronoUnit.MONTHS, "mo(?:nth)?s?")
+                .put(ChronoUnit.WEEKS, "w(?:eek)?s?")
+                .put(ChronoUnit.DAYS, "d(?:ay)?s?")
+                .put(ChronoUnit.HOURS, "h(?:our|r)?s?")
+                .put(ChronoUnit.MINUTES, "m(?:inute|in)?s?")
+                .put(ChronoUnit.SECONDS, "s(?:econd|ec)?s?")
+                .build();
+
+        private static final ChronoUnit[] UNITS = UNITS_PATTERNS.keySet().toArray(new ChronoUnit[0]);
+
+        private static final String PATTERN_STRING = UNITS_PATTERNS.values().stream()
+                .map(pattern -> "(?:(\\d+)\\s*" + pattern + "[,\\s]*)?")
+                .collect(Collectors.joining("", "^\\s*", "$"));
+
+        private static final Pattern PATTERN = Pattern.compile(PATTERN_STRING, Pattern.CASE_INSENSITIVE);
+
+        static Duration parseDuration(String input) {
+            Matcher matcher = PATTERN.matcher(input);
+            Duration duration = Duration.ZERO;
+
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Unable to parse duration: " + input);
+            }
+
+            for (int i = 0; i < UNITS.length; i++) {
+                int g = i + 1;
+
+                ChronoUnit unit = UNITS[i];
+                if (matcher.group(g) != null && !matcher.group(g).isEmpty()) {
+                    int n = Integer.parseInt(matcher.group(g));
+                    if (n > 0) {
+                        duration = duration.plus(unit.getDuration().multipliedBy(n));
+                    }
+                }
+            }
+            return duration;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.kubbidev.java.util.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the batch evaluation of a {@link CompiledExpression} over columns with one evaluation per row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledExpressionBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    @Param({"{level} * 1.5 + base", "sqrt({level} * {level} + base) / (1 + abs({level} - 7)) - 2 ^ 3"})
+    private String expression;
+
+    private CompiledExpression compiled;
+    private double[][] columns;
+    private double[] results;
+
+    @Setup
+    public void setup() throws SyntaxErrorException {
+        this.compiled = CompiledExpression.compile(this.expression, "level", "base");
+        this.columns = new double[2][this.rows];
+        this.results = new double[this.rows];
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < this.rows; i++) {
+            this.columns[0][i] = random.nextInt(1, 100);
+            this.columns[1][i] = random.nextDouble(0, 1000);
+        }
+    }
+
+    @Benchmark
+    public double[] perRow() {
+        double[] level = this.columns[0];
+        double[] base = this.columns[1];
+        double[] row = new double[2];
+        for (int i = 0; i < this.rows; i++) {
+            row[0] = level[i];
+            row[1] = base[i];
+            this.results[i] = this.compiled.evaluate(row);
+        }
+        return this.results;
+    }
+
+    @Benchmark
+    public double[] batch() {
+        this.compiled.evaluate(this.columns, this.results);
+        return this.results;
+    }
+}
@@ -4,16 +4,25 @@ import com.kubbidev.java.config.generic.key.ConfigKey;
 import com.kubbidev.java.config.generic.adapter.ConfigurationAdapter;
 import com.kubbidev.java.config.generic.key.SimpleConfigKey;
 import com.kubbidev.java.util.ImmutableCollectors;
+import com.kubbidev.java.util.parser.ExpressionCache;
 
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 public class KeyedConfiguration {
 
     private final ConfigurationAdapter adapter;
     private final List<? extends ConfigKey<?>> keys;
-    private final ValuesMap values;
+    // replaced as a whole on reload, so readers see either all the old values or all the new ones
+    private volatile ValuesMap values;
+    private final List<ChangeListenerRegistration> changeListeners = new CopyOnWriteArrayList<>();
 
     public KeyedConfiguration(ConfigurationAdapter adapter, List<? extends ConfigKey<?>> keys) {
         this.adapter = adapter;
@@ -37,21 +46,105 @@ public class KeyedConfiguration {
     }
 
     protected void load(boolean initial) {
+        ValuesMap current = this.values;
+        ValuesMap values = new ValuesMap(this.keys.size());
+
         for (ConfigKey<?> key : this.keys) {
             if (initial || key.reloadable()) {
-
-                this.values.put(key, key.get(this.adapter));
+                values.put(key, key.get(this.adapter));
+            } else {
+                values.put(key, current.get(key));
             }
         }
+
+        // the new values are only published once complete, and never written afterwards
+        this.values = values;
     }
 
     /**
      * Reloads the configuration.
+     *
+     * <p>The {@link ExpressionCache#shared() shared expression cache} is invalidated as well,
+     * as the formulas it holds are mostly read from the configuration.</p>
+     *
+     * <p>Reloads are serialized, so that {@link ChangeListener listeners} are notified in the order
+     * the new values are published, with the keys that changed from the values they replaced.
+     * Reading values never waits for a reload. An exception thrown by a listener, or by its executor,
+     * is printed and does not keep the other listeners from being notified.</p>
      */
-    public void reload() {
+    public synchronized void reload() {
         this.adapter.reload();
 
+        ValuesMap previous = this.values;
         load(false);
+
+        // before the listeners, so that they already evaluate the reloaded formulas
+        ExpressionCache.shared().invalidateAll();
+
+        if (!this.changeListeners.isEmpty()) {
+            Set<ConfigKey<?>> changed = diff(previous, this.values);
+            if (!changed.isEmpty()) {
+                for (ChangeListenerRegistration registration : this.changeListeners) {
+                    notify(registration, changed);
+                }
+            }
+        }
+    }
+
+    private static void notify(ChangeListenerRegistration registration, Set<ConfigKey<?>> changed) {
+        // a failing listener must not keep the others from being notified, nor fail the reload
+        try {
+            registration.executor().execute(() -> {
+                try {
+                    registration.listener().onChange(changed);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            });
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private Set<ConfigKey<?>> diff(ValuesMap previous, ValuesMap current) {
+        Set<ConfigKey<?>> changed = new LinkedHashSet<>();
+        for (ConfigKey<?> key : this.keys) {
+            // deep, so that array values are compared by content
+            if (!Objects.deepEquals(previous.get(key), current.get(key))) {
+                changed.add(key);
+            }
+        }
+        return Collections.unmodifiableSet(changed);
+    }
+
+    /**
+     * Registers a listener notified after each reload of the configuration which changed
+     * the value of at least one key, on the reloading thread before {@link #reload()} returns.
+     *
+     * @param listener the listener to notify
+     */
+    public void addChangeListener(ChangeListener listener) {
+        addChangeListener(listener, Runnable::run);
+    }
+
+    /**
+     * Registers a listener notified after each reload of the configuration which changed
+     * the value of at least one key, on the given executor.
+     *
+     * @param listener the listener to notify
+     * @param executor the executor notifying the listener
+     */
+    public void addChangeListener(ChangeListener listener, Executor executor) {
+        this.changeListeners.add(new ChangeListenerRegistration(listener, executor));
+    }
+
+    /**
+     * Unregisters a listener previously registered with {@link #addChangeListener(ChangeListener)}.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeChangeListener(ChangeListener listener) {
+        this.changeListeners.removeIf(registration -> registration.listener() == listener);
     }
 
     /**
@@ -82,6 +175,23 @@ public class KeyedConfiguration {
         return keys;
     }
 
+    /**
+     * A listener of the keys whose value changed on reload.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+
+        /**
+         * Called after a reload changed the value of the given keys.
+         * Keys whose value did not change are not included.
+         *
+         * @param changed the keys whose value changed, never empty
+         */
+        void onChange(Set<ConfigKey<?>> changed);
+    }
+
+    private record ChangeListenerRegistration(ChangeListener listener, Executor executor) { }
+
     @SuppressWarnings("unchecked")
     public static class ValuesMap {
 
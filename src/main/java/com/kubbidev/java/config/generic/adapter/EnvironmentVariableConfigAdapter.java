@@ -1,22 +1,68 @@
 package com.kubbidev.java.config.generic.adapter;
 
+import com.google.common.collect.ImmutableMap;
 import com.kubbidev.java.logging.LoggerAdapter;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EnvironmentVariableConfigAdapter extends StringBasedConfigurationAdapter {
     private static final String PREFIX = "KUBBIDEV_";
 
+    // environment variable names are case-insensitive on windows only
+    private static final boolean CASE_INSENSITIVE = System.getProperty("os.name", "").startsWith("Windows");
+
     private final LoggerAdapter logger;
 
+    // the prefixed environment variables, or null if not taking snapshots
+    private volatile @Nullable Map<String, String> snapshot;
+    // the keys already logged since the last reload, when taking snapshots
+    private final Set<String> logged = ConcurrentHashMap.newKeySet();
+
     public EnvironmentVariableConfigAdapter(LoggerAdapter logger) {
+        this(logger, false);
+    }
+
+    /**
+     * Creates an adapter reading environment variables, optionally from a snapshot.
+     *
+     * <p>When taking snapshots, the prefixed environment variables are copied once at construction
+     * and on each reload, parsed values are cached, and each resolved key is logged once per reload.</p>
+     *
+     * @param logger   the logger of resolved values
+     * @param snapshot if the environment variables should be read from a snapshot
+     */
+    public EnvironmentVariableConfigAdapter(LoggerAdapter logger, boolean snapshot) {
+        super(snapshot);
         this.logger = logger;
+        if (snapshot) {
+            this.snapshot = takeSnapshot();
+        }
+    }
+
+    private static Map<String, String> takeSnapshot() {
+        Map<String, String> snapshot = new HashMap<>();
+        for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
+            // upper-cased like the looked up keys where names are case-insensitive, to resolve what System.getenv does
+            String key = CASE_INSENSITIVE ? entry.getKey().toUpperCase(Locale.ROOT) : entry.getKey();
+            if (key.startsWith(PREFIX)) {
+                snapshot.put(key, entry.getValue());
+            }
+        }
+        return ImmutableMap.copyOf(snapshot);
     }
 
     @Override
     public void reload() {
-        // no-op
+        if (this.snapshot != null) {
+            this.snapshot = takeSnapshot();
+            this.logged.clear();
+            invalidateCache();
+        }
     }
 
     @Override
@@ -28,8 +74,9 @@ public class EnvironmentVariableConfigAdapter extends StringBasedConfigurationAd
                 .replace('-', '_')
                 .replace('.', '_');
 
-        String value = System.getenv(key);
-        if (value != null) {
+        Map<String, String> snapshot = this.snapshot;
+        String value = snapshot != null ? snapshot.get(key) : System.getenv(key);
+        if (value != null && (snapshot == null || this.logged.add(key))) {
             this.logger.info("Resolved configuration value from environment variable: " + key + " = " + (path.contains("password") ? "*****" : value));
         }
         return value;
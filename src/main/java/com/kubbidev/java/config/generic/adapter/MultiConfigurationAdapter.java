@@ -5,14 +5,33 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@link ConfigurationAdapter} composed of one or more other ConfigurationAdapters.
  */
 public class MultiConfigurationAdapter implements ConfigurationAdapter {
 
+    // marks a lookup resolved to null, which a ConcurrentHashMap cannot hold
+    private static final Object NULL = new Object();
+    // marks a lookup no adapter has a value for, resolved to the default of the caller
+    private static final Object ABSENT = new Object();
+    // marks a lookup whose value depends on the default of the caller, resolved again on each call
+    private static final Object DYNAMIC = new Object();
+
+    // the defaults passed in to probe the adapters, which no configuration is expected to hold
+    private static final String[] STRING_PROBES = {"\0probe-0", "\0probe-1"};
+    private static final List<List<String>> STRING_LIST_PROBES = List.of(
+            List.of(STRING_PROBES[0]), List.of(STRING_PROBES[1]));
+    private static final List<Map<String, String>> STRING_MAP_PROBES = List.of(
+            Map.of(STRING_PROBES[0], ""), Map.of(STRING_PROBES[1], ""));
+
     private final List<ConfigurationAdapter> adapters;
 
+    // the values resolved so far, or null if lookups are not flattened
+    private volatile Map<Lookup, Object> resolved;
+
     /**
      * Creates a {@link MultiConfigurationAdapter}.
      *
@@ -23,22 +42,118 @@ public class MultiConfigurationAdapter implements ConfigurationAdapter {
      * @param adapters a list of adapters
      */
     public MultiConfigurationAdapter(List<ConfigurationAdapter> adapters) {
-        this.adapters = ImmutableList.copyOf(adapters).reverse();
+        this(adapters, false);
     }
 
     public MultiConfigurationAdapter(ConfigurationAdapter... adapters) {
         this(ImmutableList.copyOf(adapters));
     }
 
+    private MultiConfigurationAdapter(List<ConfigurationAdapter> adapters, boolean flattened) {
+        this.adapters = ImmutableList.copyOf(adapters).reverse();
+        this.resolved = flattened ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * Creates a {@link MultiConfigurationAdapter} flattening its lookups.
+     *
+     * <p>Each lookup (a path and a value type) walks the adapters only the first time it is made, and its
+     * value is kept in a single merged map. Later lookups are then a single hash probe, the default value
+     * of the caller being returned if no adapter has a value for the path. On {@link #reload()}, all the
+     * lookups made so far are resolved again into a new map, which replaces the old one once complete.</p>
+     *
+     * <p>Values are the same as without flattening, as long as the adapters only change on reload,
+     * and return the default value unchanged when they have no value for a path.
+     * Resolving a lookup may walk the adapters twice, when no adapter has a value for it, so the
+     * adapters reading the environment or the system properties should take snapshots, see
+     * {@link EnvironmentVariableConfigAdapter#EnvironmentVariableConfigAdapter(com.kubbidev.java.logging.LoggerAdapter, boolean)}
+     * and {@link SystemPropertyConfigAdapter#SystemPropertyConfigAdapter(com.kubbidev.java.logging.LoggerAdapter, boolean)}:
+     * they then resolve and log each value only once per reload.</p>
+     *
+     * @param adapters a list of adapters, the first one having priority
+     * @return the flattened adapter
+     */
+    public static MultiConfigurationAdapter flattened(List<ConfigurationAdapter> adapters) {
+        return new MultiConfigurationAdapter(adapters, true);
+    }
+
+    /**
+     * Creates a {@link MultiConfigurationAdapter} flattening its lookups, see {@link #flattened(List)}.
+     *
+     * @param adapters the adapters, the first one having priority
+     * @return the flattened adapter
+     */
+    public static MultiConfigurationAdapter flattened(ConfigurationAdapter... adapters) {
+        return flattened(ImmutableList.copyOf(adapters));
+    }
+
     @Override
     public void reload() {
         for (ConfigurationAdapter adapter : this.adapters) {
             adapter.reload();
         }
+
+        Map<Lookup, Object> resolved = this.resolved;
+        if (resolved != null) {
+            Map<Lookup, Object> reloaded = new ConcurrentHashMap<>(resolved.size() * 2);
+            for (Lookup lookup : resolved.keySet()) {
+                reloaded.put(lookup, resolve(lookup));
+            }
+            this.resolved = reloaded;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(Map<Lookup, Object> resolved, Type type, String path, Object def) {
+        // keyed without the default, so that computed or mutable defaults do not make the map grow
+        Class<?> enumType = type == Type.ENUM ? ((Enum<?>) def).getDeclaringClass() : null;
+        Lookup lookup = new Lookup(type, path, enumType);
+
+        Object value = resolved.computeIfAbsent(lookup, this::resolve);
+        if (value == ABSENT) {
+            return (T) def;
+        }
+        if (value == DYNAMIC) {
+            return (T) walk(lookup, def);
+        }
+        return value == NULL ? null : (T) value;
+    }
+
+    private Object resolve(Lookup lookup) {
+        // adapters return the default unchanged when they have no value, so anything else is the value
+        Object probe0 = lookup.type().probe(lookup.enumType(), 0);
+        Object result0 = walk(lookup, probe0);
+        if (!Objects.equals(result0, probe0)) {
+            return result0 == null ? NULL : result0;
+        }
+
+        // walks the adapters again with another default: getting it back means no adapter has a value
+        Object probe1 = lookup.type().probe(lookup.enumType(), 1);
+        Object result1 = walk(lookup, probe1);
+        if (Objects.equals(result1, probe1)) {
+            return ABSENT;
+        }
+        if (Objects.equals(result0, result1)) {
+            return result0 == null ? NULL : result0;
+        }
+        return DYNAMIC;
+    }
+
+    private Object walk(Lookup lookup, Object def) {
+        Object result = def;
+        for (ConfigurationAdapter adapter : this.adapters) {
+            result = lookup.type().get(adapter, lookup.path(), result);
+        }
+        return result;
     }
 
     @Override
     public @NotNull String getString(String path, String def) {
+        Map<Lookup, Object> resolved = this.resolved;
+        if (resolved != null) {
+            return lookup(resolved, Type.STRING, path, def);
+        }
+
         String result = def;
         for (ConfigurationAdapter adapter : this.adapters) {
             result = adapter.getString(path, result);
@@ -48,6 +163,11 @@ public class MultiConfigurationAdapter implements ConfigurationAdapter {
 
     @Override
     public int getInteger(String path, int def) {
+        Map<Lookup, Object> resolved = this.resolved;
+        if (resolved != null) {
+            return lookup(resolved, Type.INTEGER, path, def);
+        }
+
         int result = def;
         for (ConfigurationAdapter adapter : this.adapters) {
             result = adapter.getInteger(path, result);
@@ -57,6 +177,11 @@ public class MultiConfigurationAdapter implements ConfigurationAdapter {
 
     @Override
     public long getLong(String path, long def) {
+        Map<Lookup, Object> resolved = this.resolved;
+        if (resolved != null) {
+            return lookup(resolved, Type.LONG, path, def);
+        }
+
         long result = def;
         for (ConfigurationAdapter adapter : this.adapters) {
             result = adapter.getLong(path, result);
@@ -66,6 +191,11 @@ public class MultiConfigurationAdapter implements ConfigurationAdapter {
 
     @Override
     public double getDouble(String path, double def) {
+        Map<Lookup, Object> resolved = this.resolved;
+        if (resolved != null) {
+            return lookup(resolved, Type.DOUBLE, path, def);
+        }
+
         double result = def;
         for (ConfigurationAdapter adapter : this.adapters) {
             result = adapter.getDouble(path, result);
@@ -75,6 +205,11 @@ public class MultiConfigurationAdapter implements ConfigurationAdapter {
 
     @Override
     public boolean getBoolean(String path, boolean def) {
+        Map<Lookup, Object> resolved = this.resolved;
+        if (resolved != null) {
+            return lookup(resolved, Type.BOOLEAN, path, def);
+        }
+
         boolean result = def;
         for (ConfigurationAdapter adapter : this.adapters) {
             result = adapter.getBoolean(path, result);
@@ -84,6 +219,11 @@ public class MultiConfigurationAdapter implements ConfigurationAdapter {
 
     @Override
     public @NotNull List<String> getStringList(String path, List<String> def) {
+        Map<Lookup, Object> resolved = this.resolved;
+        if (resolved != null) {
+            return lookup(resolved, Type.STRING_LIST, path, def);
+        }
+
         List<String> result = def;
         for (ConfigurationAdapter adapter : this.adapters) {
             result = adapter.getStringList(path, result);
@@ -93,6 +233,11 @@ public class MultiConfigurationAdapter implements ConfigurationAdapter {
 
     @Override
     public @NotNull Map<String, String> getStringMap(String path, Map<String, String> def) {
+        Map<Lookup, Object> resolved = this.resolved;
+        if (resolved != null) {
+            return lookup(resolved, Type.STRING_MAP, path, def);
+        }
+
         Map<String, String> result = def;
         for (ConfigurationAdapter adapter : this.adapters) {
             result = adapter.getStringMap(path, result);
@@ -102,10 +247,115 @@ public class MultiConfigurationAdapter implements ConfigurationAdapter {
 
     @Override
     public <E extends Enum<E>> @NotNull E getEnum(String path, E def) {
+        Map<Lookup, Object> resolved = this.resolved;
+        if (resolved != null) {
+            return lookup(resolved, Type.ENUM, path, def);
+        }
+
         E result = def;
         for (ConfigurationAdapter adapter : this.adapters) {
             result = adapter.getEnum(path, result);
         }
         return result;
     }
+
+    private record Lookup(Type type, String path, Class<?> enumType) { }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private enum Type {
+        STRING {
+            @Override
+            Object get(ConfigurationAdapter adapter, String path, Object def) {
+                return adapter.getString(path, (String) def);
+            }
+
+            @Override
+            Object probe(Class<?> enumType, int index) {
+                return STRING_PROBES[index];
+            }
+        },
+        INTEGER {
+            @Override
+            Object get(ConfigurationAdapter adapter, String path, Object def) {
+                return adapter.getInteger(path, (Integer) def);
+            }
+
+            @Override
+            Object probe(Class<?> enumType, int index) {
+                return index == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+            }
+        },
+        LONG {
+            @Override
+            Object get(ConfigurationAdapter adapter, String path, Object def) {
+                return adapter.getLong(path, (Long) def);
+            }
+
+            @Override
+            Object probe(Class<?> enumType, int index) {
+                return index == 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+            }
+        },
+        DOUBLE {
+            @Override
+            Object get(ConfigurationAdapter adapter, String path, Object def) {
+                return adapter.getDouble(path, (Double) def);
+            }
+
+            @Override
+            Object probe(Class<?> enumType, int index) {
+                return index == 0 ? -Double.MAX_VALUE : Double.MAX_VALUE;
+            }
+        },
+        BOOLEAN {
+            @Override
+            Object get(ConfigurationAdapter adapter, String path, Object def) {
+                return adapter.getBoolean(path, (Boolean) def);
+            }
+
+            @Override
+            Object probe(Class<?> enumType, int index) {
+                return index != 0;
+            }
+        },
+        STRING_LIST {
+            @Override
+            Object get(ConfigurationAdapter adapter, String path, Object def) {
+                return adapter.getStringList(path, (List<String>) def);
+            }
+
+            @Override
+            Object probe(Class<?> enumType, int index) {
+                return STRING_LIST_PROBES.get(index);
+            }
+        },
+        STRING_MAP {
+            @Override
+            Object get(ConfigurationAdapter adapter, String path, Object def) {
+                return adapter.getStringMap(path, (Map<String, String>) def);
+            }
+
+            @Override
+            Object probe(Class<?> enumType, int index) {
+                return STRING_MAP_PROBES.get(index);
+            }
+        },
+        ENUM {
+            @Override
+            Object get(ConfigurationAdapter adapter, String path, Object def) {
+                return adapter.getEnum(path, (Enum) def);
+            }
+
+            @Override
+            Object probe(Class<?> enumType, int index) {
+                // an enum with a single constant gets it twice, which is right whatever the default
+                Object[] constants = enumType.getEnumConstants();
+                return constants[Math.min(index, constants.length - 1)];
+            }
+        };
+
+        abstract Object get(ConfigurationAdapter adapter, String path, Object def);
+
+        abstract Object probe(Class<?> enumType, int index);
+    }
 }
@@ -2,23 +2,74 @@ package com.kubbidev.java.config.generic.adapter;
 
 import com.google.common.base.Splitter;
 import com.kubbidev.java.util.EnumUtil;
+import com.kubbidev.java.util.NumberUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public abstract class StringBasedConfigurationAdapter implements ConfigurationAdapter {
 
     private static final Splitter LIST_SPLITTER = Splitter.on(',');
     private static final Splitter.MapSplitter MAP_SPLITTER = Splitter.on(',').withKeyValueSeparator('=');
 
+    // marks a cached value which is missing or could not be parsed, which a ConcurrentHashMap cannot hold
+    private static final Object ABSENT = new Object();
+
+    // the parsed values by path and type, or null if values are parsed on every lookup
+    private final @Nullable Map<CacheKey, Object> cache;
+
+    protected StringBasedConfigurationAdapter() {
+        this(false);
+    }
+
+    /**
+     * Creates an adapter, optionally caching the parsed value of each path.
+     *
+     * <p>When caching, each path is resolved and parsed only once per value type, and lists and maps
+     * are shared between lookups, as they are immutable. Implementations must then call
+     * {@link #invalidateCache()} from {@link #reload()}.</p>
+     *
+     * @param cacheValues if the parsed values should be cached
+     */
+    protected StringBasedConfigurationAdapter(boolean cacheValues) {
+        this.cache = cacheValues ? new ConcurrentHashMap<>() : null;
+    }
+
     protected abstract @Nullable String resolveValue(String path);
 
+    /**
+     * Discards the cached parsed values, so that they are resolved again on their next lookup.
+     * Does nothing if values are not cached.
+     */
+    protected void invalidateCache() {
+        if (this.cache != null) {
+            this.cache.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> @Nullable T parse(String path, Class<?> type, Function<String, T> parser) {
+        if (this.cache == null) {
+            String value = resolveValue(path);
+            return value == null ? null : parser.apply(value);
+        }
+
+        Object parsed = this.cache.computeIfAbsent(new CacheKey(path, type), key -> {
+            String value = resolveValue(key.path());
+            T result = value == null ? null : parser.apply(value);
+            return result == null ? ABSENT : result;
+        });
+        return parsed == ABSENT ? null : (T) parsed;
+    }
+
     @Override
     public @NotNull String getString(String path, String def) {
-        String value = resolveValue(path);
+        String value = parse(path, String.class, Function.identity());
         if (value == null) {
             return def;
         }
@@ -28,78 +79,62 @@ public abstract class StringBasedConfigurationAdapter implements ConfigurationAd
 
     @Override
     public int getInteger(String path, int def) {
-        String value = resolveValue(path);
+        Integer value = parse(path, Integer.class, NumberUtil::parseIntOrNull);
         if (value == null) {
             return def;
         }
 
-        try {
-            return Integer.parseInt(value);
-        } catch (IllegalArgumentException e) {
-            return def;
-        }
+        return value;
     }
 
     @Override
     public long getLong(String path, long def) {
-        String value = resolveValue(path);
+        Long value = parse(path, Long.class, NumberUtil::parseLongOrNull);
         if (value == null) {
             return def;
         }
 
-        try {
-            return Long.parseLong(value);
-        } catch (IllegalArgumentException e) {
-            return def;
-        }
+        return value;
     }
 
     @Override
     public double getDouble(String path, double def) {
-        String value = resolveValue(path);
+        Double value = parse(path, Double.class, NumberUtil::parseDoubleOrNull);
         if (value == null) {
             return def;
         }
 
-        try {
-            return Double.parseDouble(value);
-        } catch (IllegalArgumentException e) {
-            return def;
-        }
+        return value;
     }
 
     @Override
     public boolean getBoolean(String path, boolean def) {
-        String value = resolveValue(path);
+        Boolean value = parse(path, Boolean.class, Boolean::valueOf);
         if (value == null) {
             return def;
         }
 
-        try {
-            return Boolean.parseBoolean(value);
-        } catch (IllegalArgumentException e) {
-            return def;
-        }
+        return value;
     }
 
     @Override
     public @NotNull List<String> getStringList(String path, List<String> def) {
-        String value = resolveValue(path);
+        List<String> value = parse(path, List.class, LIST_SPLITTER::splitToList);
         if (value == null) {
             return def;
         }
 
-        return LIST_SPLITTER.splitToList(value);
+        return value;
     }
 
     @Override
     public @NotNull Map<String, String> getStringMap(String path, Map<String, String> def) {
-        String value = resolveValue(path);
+        Map<String, String> value = parse(path, Map.class, MAP_SPLITTER::split);
         if (value == null) {
             return def;
         }
 
-        return MAP_SPLITTER.split(value);
+        return value;
     }
 
 
@@ -107,8 +142,10 @@ public abstract class StringBasedConfigurationAdapter implements ConfigurationAd
     public @NotNull <E extends Enum<E>> E getEnum(String path, E def) {
 
         Class<E> clazz = def.getDeclaringClass();
-        String value = resolveValue(path);
+        E value = parse(path, clazz, v -> EnumUtil.getEnum(v, clazz));
 
-        return Objects.requireNonNullElse(EnumUtil.getEnum(value, clazz), def);
+        return Objects.requireNonNullElse(value, def);
     }
+
+    private record CacheKey(String path, Class<?> type) { }
 }
@@ -1,20 +1,65 @@
 package com.kubbidev.java.config.generic.adapter;
 
+import com.google.common.collect.ImmutableMap;
 import com.kubbidev.java.logging.LoggerAdapter;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class SystemPropertyConfigAdapter extends StringBasedConfigurationAdapter {
     private static final String PREFIX = "kubbidev.";
 
     private final LoggerAdapter logger;
 
+    // the prefixed system properties, or null if not taking snapshots
+    private volatile @Nullable Map<String, String> snapshot;
+    // the keys already logged since the last reload, when taking snapshots
+    private final Set<String> logged = ConcurrentHashMap.newKeySet();
+
     public SystemPropertyConfigAdapter(LoggerAdapter logger) {
+        this(logger, false);
+    }
+
+    /**
+     * Creates an adapter reading system properties, optionally from a snapshot.
+     *
+     * <p>When taking snapshots, the prefixed system properties are copied once at construction
+     * and on each reload, parsed values are cached, and each resolved key is logged once per reload.
+     * Properties set in between are only seen after the next reload.</p>
+     *
+     * @param logger   the logger of resolved values
+     * @param snapshot if the system properties should be read from a snapshot
+     */
+    public SystemPropertyConfigAdapter(LoggerAdapter logger, boolean snapshot) {
+        super(snapshot);
         this.logger = logger;
+        if (snapshot) {
+            this.snapshot = takeSnapshot();
+        }
+    }
+
+    private static Map<String, String> takeSnapshot() {
+        Properties properties = System.getProperties();
+
+        ImmutableMap.Builder<String, String> snapshot = ImmutableMap.builder();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(PREFIX)) {
+                snapshot.put(key, properties.getProperty(key));
+            }
+        }
+        return snapshot.build();
     }
 
     @Override
     public void reload() {
-        // no-op
+        if (this.snapshot != null) {
+            this.snapshot = takeSnapshot();
+            this.logged.clear();
+            invalidateCache();
+        }
     }
 
     @Override
@@ -24,8 +69,9 @@ public class SystemPropertyConfigAdapter extends StringBasedConfigurationAdapter
         // 'data.table_prefix' -> kubbidev.data.table-prefix
         String key = PREFIX + path;
 
-        String value = System.getProperty(key);
-        if (value != null) {
+        Map<String, String> snapshot = this.snapshot;
+        String value = snapshot != null ? snapshot.get(key) : System.getProperty(key);
+        if (value != null && (snapshot == null || this.logged.add(key))) {
             this.logger.info("Resolved configuration value from system property: " + key + " = " + (path.contains("password") ? "*****" : value));
         }
         return value;
@@ -1,13 +1,22 @@
 package com.kubbidev.java.manager;
 
 import com.google.common.collect.ImmutableMap;
+import com.kubbidev.java.util.CacheStats;
 import com.kubbidev.java.util.LoadingMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * An abstract manager class
@@ -18,7 +27,42 @@ import java.util.function.Consumer;
  */
 public abstract class AbstractManager<I, C, T extends C> implements Manager<I, C, T> {
 
-    private final LoadingMap<I, T> objects = LoadingMap.of(this);
+    private final LoadingMap<I, T> objects;
+
+    /**
+     * Creates a manager holding its objects until they are unloaded.
+     */
+    protected AbstractManager() {
+        this.objects = LoadingMap.of(this);
+    }
+
+    /**
+     * Creates a manager holding its objects in a map built by the given builder,
+     * for example to bound the number of loaded objects, let idle ones expire,
+     * or release the ones nothing else references with {@link LoadingMap.Builder#weakValues() weak values}.
+     *
+     * @param builder the builder of the map holding the objects
+     */
+    protected AbstractManager(@NotNull LoadingMap.Builder<I, T> builder) {
+        this(builder, false);
+    }
+
+    /**
+     * Creates a manager holding its objects in a map built by the given builder,
+     * and optionally creating the objects missing from {@link #getOrMakeAll(Iterable)}
+     * all at once with {@link #loadAll(Set)}.
+     *
+     * <p>Without batch loading, each missing object is created with {@link #apply(Object)} under
+     * the lock of its map entry, so an object is never created twice for the same identifier.</p>
+     *
+     * @param builder      the builder of the map holding the objects
+     * @param batchLoading if missing objects should be created with {@link #loadAll(Set)}
+     */
+    protected AbstractManager(@NotNull LoadingMap.Builder<I, T> builder, boolean batchLoading) {
+        if (batchLoading)
+            builder.batchLoader(this::loadAll);
+        this.objects = builder.build(this);
+    }
 
     @Override
     public @NotNull Map<I, T> getAll() {
@@ -30,6 +74,15 @@ public abstract class AbstractManager<I, C, T extends C> implements Manager<I, C
         return this.objects.get(sanitizeIdentifier(id));
     }
 
+    @Override
+    public @NotNull Map<I, T> getOrMakeAll(@NotNull Iterable<? extends I> ids) {
+        List<I> sanitized = new ArrayList<>();
+        for (I id : ids) {
+            sanitized.add(sanitizeIdentifier(id));
+        }
+        return this.objects.getAll(sanitized);
+    }
+
     @Override
     public @Nullable T getIfLoaded(@NotNull I id) {
         return this.objects.getIfPresent(sanitizeIdentifier(id));
@@ -49,14 +102,85 @@ public abstract class AbstractManager<I, C, T extends C> implements Manager<I, C
 
     @Override
     public void unload(@NotNull I id) {
-        this.objects.remove(sanitizeIdentifier(id));
+        I sanitized = sanitizeIdentifier(id);
+        T t = this.objects.remove(sanitized);
+        if (t != null)
+            onUnload(Collections.singletonMap(sanitized, t));
     }
 
     @Override
     public void retainAll(@NotNull Collection<I> ids) {
-        this.objects.keySet().stream()
-                .filter(g -> !ids.contains(g))
-                .forEach(this::unload);
+        // sanitized once, and hashed so that each lookup is constant time whatever the collection
+        Set<I> retained = new HashSet<>(ids.size() * 2);
+        for (I id : ids) {
+            retained.add(sanitizeIdentifier(id));
+        }
+        unloadEntriesIf((id, t) -> !retained.contains(id));
+    }
+
+    @Override
+    public void unloadIf(@NotNull Predicate<? super T> predicate) {
+        unloadEntriesIf((id, t) -> predicate.test(t));
+    }
+
+    private void unloadEntriesIf(BiPredicate<I, T> predicate) {
+        Map<I, T> unloaded = new HashMap<>();
+        for (Map.Entry<I, T> entry : this.objects.entrySet()) {
+            I id = entry.getKey();
+            T t = entry.getValue();
+            // only reported if not removed or replaced concurrently
+            if (predicate.test(id, t) && this.objects.remove(id, t))
+                unloaded.put(id, t);
+        }
+        if (!unloaded.isEmpty())
+            onUnload(unloaded);
+    }
+
+    /**
+     * Called after objects are unloaded from this manager, by {@link #unload(Object)},
+     * {@link #retainAll(Collection)} or {@link #unloadIf(Predicate)}, with all the objects
+     * unloaded by the call at once.
+     *
+     * <p>Objects evicted by the map holding them, see {@link #AbstractManager(LoadingMap.Builder)},
+     * are reported to the removal listener of its builder instead.</p>
+     *
+     * @param unloaded the unloaded objects, by identifier
+     */
+    protected void onUnload(@NotNull Map<I, T> unloaded) {
+    }
+
+    /**
+     * Creates the objects for all the given identifiers at once, when {@link #getOrMakeAll(Iterable)}
+     * finds them not loaded, if the manager was created with batch loading enabled.
+     * Override to load them in bulk, e.g. with a single query.
+     *
+     * <p>The identifiers missing from the returned map are created one by one with {@link #apply(Object)},
+     * which is also what the default implementation does.</p>
+     *
+     * <p>Objects are created here outside of any lock. If another thread loads one of the same identifiers
+     * in the meantime, its object is kept and the one created here is discarded, so creating an object must
+     * not have side effects that rely on it being kept.</p>
+     *
+     * @param ids the sanitized identifiers of the objects to create
+     * @return the created objects
+     */
+    @NotNull
+    protected Map<I, T> loadAll(@NotNull Set<I> ids) {
+        Map<I, T> objects = new HashMap<>(ids.size() * 2);
+        for (I id : ids) {
+            objects.put(id, apply(id));
+        }
+        return objects;
+    }
+
+    /**
+     * Gets the statistics of the map holding the objects of this manager. They are only
+     * recorded if the manager was created with a builder {@link LoadingMap.Builder#recordStats() recording them}.
+     *
+     * @return the statistics of the loaded objects
+     */
+    public @NotNull CacheStats stats() {
+        return this.objects.stats();
     }
 
     @NotNull
@@ -4,9 +4,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 /**
  * The Manager interface represents a generic manager responsible for handling objects of type T
@@ -34,6 +37,23 @@ public interface Manager<I, C, T extends C> extends Function<I, T> {
      */
     @NotNull T getOrMake(@NotNull I id);
 
+    /**
+     * Retrieves the managed objects with the specified identifiers (ids).
+     * The objects that are not currently managed are created and registered.
+     *
+     * <p>The default implementation calls {@link #getOrMake(Object)} for each identifier.</p>
+     *
+     * @param ids The unique identifiers of the objects to retrieve or create if not loaded.
+     * @return A map with the unique identifiers (I) as keys and the managed objects (T) as values.
+     */
+    default @NotNull Map<I, T> getOrMakeAll(@NotNull Iterable<? extends I> ids) {
+        Map<I, T> objects = new LinkedHashMap<>();
+        for (I id : ids) {
+            objects.put(id, getOrMake(id));
+        }
+        return Collections.unmodifiableMap(objects);
+    }
+
     /**
      * Retrieves the managed object with the specified identifier (id) if it is currently loaded.
      * If the object is not loaded, it returns null.
@@ -75,4 +95,20 @@ public interface Manager<I, C, T extends C> extends Function<I, T> {
      * @param ids A collection of unique identifiers to retain.
      */
     void retainAll(@NotNull Collection<I> ids);
+
+    /**
+     * Unloads all the objects matching the given predicate from the manager.
+     *
+     * <p>The default implementation tests each object of {@link #getAll()} and calls {@link #unload(Object)}
+     * for the matching ones.</p>
+     *
+     * @param predicate The predicate returning true for the objects to unload.
+     */
+    default void unloadIf(@NotNull Predicate<? super T> predicate) {
+        for (Map.Entry<I, T> entry : getAll().entrySet()) {
+            if (predicate.test(entry.getValue())) {
+                unload(entry.getKey());
+            }
+        }
+    }
 }
\ No newline at end of file
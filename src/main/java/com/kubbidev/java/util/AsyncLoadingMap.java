@@ -0,0 +1,162 @@
+package com.kubbidev.java.util;
+
+import com.google.common.collect.ForwardingMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * The "AsyncLoadingMap" class represents a map that loads values on demand in the background, using a specified function.
+ * Its values are {@link CompletableFuture futures}, completed once the value is loaded.
+ *
+ * <p>Unlike {@link LoadingMap}, the loading function never runs inside the map: it runs on an {@link Executor},
+ * so a slow loader does not hold up lookups of other keys. Concurrent lookups of a key being loaded share the same
+ * future, so the key is loaded only once. A load that fails is removed from the map, and is tried again by the
+ * next lookup.</p>
+ *
+ * <p>Lookups return a dependent copy of the stored future, so completing or cancelling it does not affect
+ * the value stored in the map, nor the other callers waiting for it.</p>
+ *
+ * @param <K> The type of keys in the map.
+ * @param <V> The type of values in the map.
+ */
+public class AsyncLoadingMap<K, V> extends ForwardingMap<K, CompletableFuture<V>> implements Map<K, CompletableFuture<V>> {
+
+    /**
+     * Creates a new "AsyncLoadingMap" loading values with the provided function on the common fork-join pool.
+     *
+     * @param <K>      The type of keys in the map.
+     * @param <V>      The type of values in the map.
+     * @param function The function used to compute and load values for missing keys.
+     * @return A new "AsyncLoadingMap" instance with the specified loading function.
+     */
+    public static <K, V> AsyncLoadingMap<K, V> of(Function<K, V> function) {
+        return of(function, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new "AsyncLoadingMap" loading values with the provided function on the provided executor.
+     *
+     * @param <K>      The type of keys in the map.
+     * @param <V>      The type of values in the map.
+     * @param function The function used to compute and load values for missing keys.
+     * @param executor The executor running the loading function.
+     * @return A new "AsyncLoadingMap" instance with the specified loading function and executor.
+     */
+    public static <K, V> AsyncLoadingMap<K, V> of(Function<K, V> function, Executor executor) {
+        return new AsyncLoadingMap<>(function, executor);
+    }
+
+    private final Map<K, CompletableFuture<V>> loadingMap = new ConcurrentHashMap<>();
+    private final Function<K, V> function;
+    private final Executor executor;
+
+    /**
+     * Constructs a new "AsyncLoadingMap" instance with the specified loading function and executor.
+     *
+     * @param function The function used to compute and load values for missing keys.
+     * @param executor The executor running the loading function.
+     */
+    private AsyncLoadingMap(Function<K, V> function, Executor executor) {
+        this.function = function;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the underlying map that stores the futures in the "AsyncLoadingMap".
+     * This method is overridden from "ForwardingMap" to provide map delegation.
+     *
+     * @return The underlying map implementation.
+     */
+    @Override
+    protected @NotNull Map<K, CompletableFuture<V>> delegate() {
+        return this.loadingMap;
+    }
+
+    /**
+     * Returns the future of the value associated with the specified key, without loading it if the key is missing.
+     *
+     * @param key The key whose associated future is to be returned.
+     * @return A copy of the future of the value associated with the specified key, or null if the key is missing.
+     */
+    public @Nullable CompletableFuture<V> getIfPresent(K key) {
+        CompletableFuture<V> future = this.loadingMap.get(key);
+        return future != null ? future.copy() : null;
+    }
+
+    /**
+     * Retrieves the future of the value associated with the specified key from the map.
+     * If the key is missing, its value starts loading on the executor, and the future is stored in the map
+     * right away, so that concurrent lookups of the key wait for the same load.
+     *
+     * <p>If the loading function throws, the future completes exceptionally and is removed from the map.
+     * If it returns null, the future completes with null and is removed from the map as well.</p>
+     *
+     * @param key The key whose associated future is to be returned.
+     * @return A copy of the future of the value associated with the specified key.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public @NotNull CompletableFuture<V> get(Object key) {
+        CompletableFuture<V> future = this.loadingMap.get(key);
+        if (future != null) {
+            return future.copy();
+        }
+
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        future = this.loadingMap.putIfAbsent((K) key, loading);
+        if (future != null) {
+            return future.copy();
+        }
+
+        // however the future completes, a failure or a null value is never kept
+        loading.whenComplete((value, t) -> {
+            if (t != null || value == null) {
+                this.loadingMap.remove(key, loading);
+            }
+        });
+
+        try {
+            this.executor.execute(() -> load((K) key, loading));
+        } catch (RejectedExecutionException e) {
+            this.loadingMap.remove(key, loading);
+            loading.completeExceptionally(e);
+        }
+        return loading.copy();
+    }
+
+    private void load(K key, CompletableFuture<V> loading) {
+        V value;
+        try {
+            value = this.function.apply(key);
+        } catch (Throwable t) {
+            // removed before completing, so a caller seeing the failure can try again
+            this.loadingMap.remove(key, loading);
+            loading.completeExceptionally(t);
+            return;
+        }
+
+        if (value == null) {
+            this.loadingMap.remove(key, loading);
+        }
+        loading.complete(value);
+    }
+
+    /**
+     * Associates the specified value with the specified key, as an already completed future.
+     *
+     * @param key   The key with which the value is to be associated.
+     * @param value The value to be associated with the key.
+     * @return The previous future associated with the key, or null if there was none.
+     */
+    public @Nullable CompletableFuture<V> putValue(K key, @NotNull V value) {
+        return this.loadingMap.put(key, CompletableFuture.completedFuture(value));
+    }
+}
@@ -0,0 +1,49 @@
+package com.kubbidev.java.util;
+
+/**
+ * An immutable snapshot of the statistics of a {@link LoadingMap}, see {@link LoadingMap.Builder#recordStats()}.
+ *
+ * @param hitCount         The number of lookups that found their key in the map.
+ * @param missCount        The number of lookups that did not find their key in the map.
+ * @param loadSuccessCount The number of loads that completed successfully.
+ * @param loadFailureCount The number of loads that threw an exception.
+ * @param totalLoadTime    The total time spent loading values, in nanoseconds.
+ * @param evictionCount    The number of entries evicted from the map, by size, weight, expiry or garbage collection.
+ */
+public record CacheStats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+                         long totalLoadTime, long evictionCount) {
+
+    /**
+     * A snapshot with every statistic at zero, as reported by a map not recording statistics.
+     */
+    public static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    /**
+     * Gets the number of lookups, whether they found their key in the map or not.
+     *
+     * @return The number of lookups.
+     */
+    public long requestCount() {
+        return this.hitCount + this.missCount;
+    }
+
+    /**
+     * Gets the ratio of lookups that found their key in the map, or 1 if there was no lookup.
+     *
+     * @return The hit rate, between 0 and 1.
+     */
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1.0 : (double) this.hitCount / requestCount;
+    }
+
+    /**
+     * Gets the average time spent loading a value, or 0 if there was no load.
+     *
+     * @return The average load time, in nanoseconds.
+     */
+    public double averageLoadPenalty() {
+        long loadCount = this.loadSuccessCount + this.loadFailureCount;
+        return loadCount == 0 ? 0.0 : (double) this.totalLoadTime / loadCount;
+    }
+}
@@ -1,17 +1,40 @@
 package com.kubbidev.java.util;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.Weigher;
 import com.google.common.collect.ForwardingMap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 /**
  * The "LoadingMap" class represents a map that automatically loads values on demand using a specified function.
  * It extends "ForwardingMap" to provide a convenient way to delegate map operations to an underlying map implementation.
  *
+ * <p>A map created with {@link #of(Function)} is unbounded: entries stay until they are removed.
+ * A map created with a {@link #builder() builder} can instead be bounded in size or weight and
+ * let its entries expire, refresh or be garbage collected, in which case it is backed by a Guava {@link LoadingCache}.</p>
+ *
  * @param <K> The type of keys in the map.
  * @param <V> The type of values in the map.
  */
@@ -27,7 +50,7 @@ public class LoadingMap<K, V> extends ForwardingMap<K, V> implements Map<K, V> {
      * @return A new "LoadingMap" instance with the specified map and loading function.
      */
     public static <K, V> LoadingMap<K, V> of(Map<K, V> map, Function<K, V> function) {
-        return new LoadingMap<>(map, function);
+        return new LoadingMap<>(map, function, null, null);
     }
 
     /**
@@ -43,18 +66,58 @@ public class LoadingMap<K, V> extends ForwardingMap<K, V> implements Map<K, V> {
         return of(new ConcurrentHashMap<>(), function);
     }
 
+    /**
+     * Creates a new builder of "LoadingMap", to configure eviction and expiry of its entries.
+     *
+     * @param <K> The type of keys in the map.
+     * @param <V> The type of values in the map.
+     * @return A new builder with no option set.
+     */
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
     private final Map<K, V> loadingMap;
     private final Function<K, V> function;
 
+    // the function loading many missing keys at once, null to load them one by one
+    private final @Nullable Function<Set<K>, Map<K, V>> batchFunction;
+
+    // the cache backing the map when it is bounded or expiring, null otherwise
+    private final @Nullable LoadingCache<K, V> cache;
+
+    // the statistics of the map when it is not backed by a cache and records them, null otherwise
+    private final @Nullable StatsCounter stats;
+
     /**
      * Constructs a new "LoadingMap" instance with the specified underlying map and loading function.
      *
-     * @param loadingMap The underlying map to store and retrieve values.
-     * @param function   The function used to compute and load values for missing keys.
+     * @param loadingMap    The underlying map to store and retrieve values.
+     * @param function      The function used to compute and load values for missing keys.
+     * @param batchFunction The function used to load many missing keys at once, or null to load them one by one.
+     * @param stats         The statistics to record, or null not to record them.
      */
-    private LoadingMap(Map<K, V> loadingMap, Function<K, V> function) {
+    private LoadingMap(Map<K, V> loadingMap, Function<K, V> function,
+                       @Nullable Function<Set<K>, Map<K, V>> batchFunction, @Nullable StatsCounter stats) {
         this.loadingMap = loadingMap;
+        this.function = stats == null ? function : stats.recordLoads(function);
+        this.batchFunction = stats == null || batchFunction == null ? batchFunction : stats.recordLoads(batchFunction);
+        this.cache = null;
+        this.stats = stats;
+    }
+
+    /**
+     * Constructs a new "LoadingMap" instance backed by the specified cache.
+     *
+     * @param cache    The cache to store, retrieve and load values.
+     * @param function The function used to compute and load values for missing keys.
+     */
+    private LoadingMap(LoadingCache<K, V> cache, Function<K, V> function) {
+        this.loadingMap = cache.asMap();
         this.function = function;
+        this.batchFunction = null;
+        this.cache = cache;
+        this.stats = null;
     }
 
     /**
@@ -77,7 +140,15 @@ public class LoadingMap<K, V> extends ForwardingMap<K, V> implements Map<K, V> {
      * @return The value associated with the specified key, or the loaded value if the key is missing.
      */
     public @Nullable V getIfPresent(K key) {
-        return this.loadingMap.get(key);
+        if (this.cache != null) {
+            return this.cache.getIfPresent(key);
+        }
+
+        V value = this.loadingMap.get(key);
+        if (this.stats != null) {
+            this.stats.recordLookup(value != null);
+        }
+        return value;
     }
 
     /**
@@ -92,10 +163,418 @@ public class LoadingMap<K, V> extends ForwardingMap<K, V> implements Map<K, V> {
     @SuppressWarnings("unchecked")
     @Override
     public @NotNull V get(Object key) {
+        if (this.cache != null) {
+            return load(this.cache, (K) key);
+        }
+
         V value = this.loadingMap.get(key);
+        if (this.stats != null) {
+            this.stats.recordLookup(value != null);
+        }
         if (value != null) {
             return value;
         }
         return this.loadingMap.computeIfAbsent((K) key, this.function);
     }
+
+    /**
+     * Retrieves the values associated with the specified keys from the map, loading all the missing ones at once.
+     *
+     * <p>If the map has a {@link Builder#batchLoader(Function) batch loader}, the missing keys are passed to it
+     * in a single call, and any key it leaves out is loaded with the loading function. Otherwise, each missing key
+     * is loaded with the loading function. The loaded values are stored in the map, unless another thread stored
+     * a value for the same key in the meantime, in which case that value is returned instead.</p>
+     *
+     * @param keys The keys whose associated values are to be returned.
+     * @return An immutable map of the specified keys to their values, in the order of the keys.
+     */
+    public @NotNull Map<K, V> getAll(@NotNull Iterable<? extends K> keys) {
+        if (this.cache != null) {
+            try {
+                return this.cache.getAll(keys);
+            } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+                throw propagate(e);
+            }
+        }
+
+        Map<K, V> result = new LinkedHashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            // missing keys are put too, to keep their place in the result
+            V value = this.loadingMap.get(key);
+            result.put(key, value);
+            if (this.stats != null) {
+                this.stats.recordLookup(value != null);
+            }
+            if (value == null) {
+                missing.add(key);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            if (this.batchFunction == null) {
+                for (K key : missing) {
+                    result.put(key, this.loadingMap.computeIfAbsent(key, this.function));
+                }
+            } else {
+                Map<K, V> loaded = loadAll(missing, this.function, this.batchFunction);
+                for (K key : missing) {
+                    V value = loaded.get(key);
+                    V previous = this.loadingMap.putIfAbsent(key, value);
+                    result.put(key, previous != null ? previous : value);
+                }
+            }
+        }
+        return ImmutableMap.copyOf(result);
+    }
+
+    /**
+     * Loads a new value for the specified key with the loading function, and stores it in place of the current one.
+     * Until the new value is loaded, lookups of the key keep returning the current value, if any.
+     *
+     * <p>On a map with {@link Builder#refreshAfterWrite(Duration) refresh} enabled, the new value is loaded
+     * on the refresh executor and this method returns right away. Otherwise it is loaded on the calling thread.
+     * If loading the new value fails, the current value is kept.</p>
+     *
+     * @param key The key whose value is to be refreshed.
+     */
+    public void refresh(@NotNull K key) {
+        if (this.cache != null) {
+            this.cache.refresh(key);
+            return;
+        }
+
+        V value = this.function.apply(key);
+        if (value != null) {
+            this.loadingMap.put(key, value);
+        }
+    }
+
+    /**
+     * Takes a snapshot of the statistics of this map.
+     * If the map does not {@link Builder#recordStats() record statistics}, every statistic is zero.
+     *
+     * @return The statistics of this map.
+     */
+    public @NotNull CacheStats stats() {
+        if (this.cache != null) {
+            com.google.common.cache.CacheStats stats = this.cache.stats();
+            return new CacheStats(stats.hitCount(), stats.missCount(), stats.loadSuccessCount(),
+                    stats.loadExceptionCount(), stats.totalLoadTime(), stats.evictionCount());
+        }
+        return this.stats != null ? this.stats.snapshot() : CacheStats.EMPTY;
+    }
+
+    private static <K, V> Map<K, V> loadAll(Set<K> keys, Function<K, V> function, Function<Set<K>, Map<K, V>> batchFunction) {
+        Map<K, V> loaded = new HashMap<>(batchFunction.apply(keys));
+        for (K key : keys) {
+            if (loaded.get(key) == null) {
+                loaded.put(key, Objects.requireNonNull(function.apply(key), "loaded value"));
+            }
+        }
+        return loaded;
+    }
+
+    private static <K, V> V load(LoadingCache<K, V> cache, K key) {
+        try {
+            return cache.getUnchecked(key);
+        } catch (UncheckedExecutionException | ExecutionError e) {
+            throw propagate(e);
+        }
+    }
+
+    private static RuntimeException propagate(Throwable e) {
+        // rethrow what the loading function threw, as the unbounded map does
+        Throwable cause = e.getCause();
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        return e instanceof RuntimeException runtime ? runtime : new UncheckedExecutionException(cause);
+    }
+
+    /**
+     * The statistics of a map not backed by a cache, which never evicts entries.
+     */
+    private static final class StatsCounter {
+        private final LongAdder hitCount = new LongAdder();
+        private final LongAdder missCount = new LongAdder();
+        private final LongAdder loadSuccessCount = new LongAdder();
+        private final LongAdder loadFailureCount = new LongAdder();
+        private final LongAdder totalLoadTime = new LongAdder();
+
+        void recordLookup(boolean hit) {
+            (hit ? this.hitCount : this.missCount).increment();
+        }
+
+        <T, R> Function<T, R> recordLoads(Function<T, R> function) {
+            return key -> {
+                long start = System.nanoTime();
+                try {
+                    R value = function.apply(key);
+                    this.loadSuccessCount.increment();
+                    return value;
+                } catch (RuntimeException | Error e) {
+                    this.loadFailureCount.increment();
+                    throw e;
+                } finally {
+                    this.totalLoadTime.add(System.nanoTime() - start);
+                }
+            };
+        }
+
+        CacheStats snapshot() {
+            return new CacheStats(this.hitCount.sum(), this.missCount.sum(), this.loadSuccessCount.sum(),
+                    this.loadFailureCount.sum(), this.totalLoadTime.sum(), 0);
+        }
+    }
+
+    /**
+     * A cache loader loading single keys with the loading function, and many keys with the batch loader.
+     */
+    private static final class BatchCacheLoader<K, V> extends CacheLoader<K, V> {
+        private final Function<K, V> function;
+        private final Function<Set<K>, Map<K, V>> batchFunction;
+
+        BatchCacheLoader(Function<K, V> function, Function<Set<K>, Map<K, V>> batchFunction) {
+            this.function = function;
+            this.batchFunction = batchFunction;
+        }
+
+        @Override
+        public @NotNull V load(@NotNull K key) {
+            return this.function.apply(key);
+        }
+
+        @Override
+        public @NotNull Map<K, V> loadAll(@NotNull Iterable<? extends K> keys) {
+            return LoadingMap.loadAll(ImmutableSet.copyOf(keys), this.function, this.batchFunction);
+        }
+    }
+
+    /**
+     * A builder of "LoadingMap" bounding its number of entries and letting them expire.
+     *
+     * <p>Eviction is amortized over the operations on the map, and never blocks readers of other entries.
+     * Every removed entry is reported to the {@link #removalListener(RemovalListener) removal listener}
+     * along with its {@link com.google.common.cache.RemovalCause cause}.</p>
+     *
+     * <p>If no option is set, the built map is the same unbounded map as {@link LoadingMap#of(Function)}.</p>
+     *
+     * @param <K> The type of keys in the map.
+     * @param <V> The type of values in the map.
+     */
+    public static final class Builder<K, V> {
+        private long maximumSize = -1;
+        private long maximumWeight = -1;
+        private @Nullable Weigher<? super K, ? super V> weigher;
+        private @Nullable Duration expireAfterAccess;
+        private @Nullable Duration expireAfterWrite;
+        private @Nullable Duration refreshAfterWrite;
+        private @Nullable Executor executor;
+        private @Nullable Strength valueStrength;
+        private @Nullable RemovalListener<? super K, ? super V> removalListener;
+        private @Nullable Function<Set<K>, Map<K, V>> batchFunction;
+        private boolean recordStats;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of entries of the map.
+         * When the map grows past it, the least recently used entries are evicted.
+         *
+         * @param maximumSize The maximum number of entries.
+         * @return This builder.
+         */
+        public Builder<K, V> maximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum total weight of the entries of the map, as computed by the given weigher.
+         * When the map grows past it, the least recently used entries are evicted.
+         *
+         * @param maximumWeight The maximum total weight of the entries.
+         * @param weigher       The weigher computing the weight of each entry when it is loaded.
+         * @return This builder.
+         */
+        public Builder<K, V> maximumWeight(long maximumWeight, @NotNull Weigher<? super K, ? super V> weigher) {
+            this.maximumWeight = maximumWeight;
+            this.weigher = Objects.requireNonNull(weigher, "weigher");
+            return this;
+        }
+
+        /**
+         * Makes each entry expire once the given duration has passed since it was last read or written.
+         *
+         * @param duration The duration after which an idle entry expires.
+         * @return This builder.
+         */
+        public Builder<K, V> expireAfterAccess(@NotNull Duration duration) {
+            this.expireAfterAccess = Objects.requireNonNull(duration, "duration");
+            return this;
+        }
+
+        /**
+         * Makes each entry expire once the given duration has passed since it was loaded or last written.
+         *
+         * @param duration The duration after which an entry expires.
+         * @return This builder.
+         */
+        public Builder<K, V> expireAfterWrite(@NotNull Duration duration) {
+            this.expireAfterWrite = Objects.requireNonNull(duration, "duration");
+            return this;
+        }
+
+        /**
+         * Makes each entry eligible for refresh once the given duration has passed since it was loaded or last written.
+         *
+         * <p>The first lookup of an entry due for refresh starts loading its new value on the
+         * {@link #executor(Executor) executor}, and every lookup keeps getting the current value until the new one
+         * is loaded. Only one refresh of an entry runs at a time, and a failed refresh keeps the current value.</p>
+         *
+         * @param duration The duration after which an entry is refreshed.
+         * @return This builder.
+         */
+        public Builder<K, V> refreshAfterWrite(@NotNull Duration duration) {
+            this.refreshAfterWrite = Objects.requireNonNull(duration, "duration");
+            return this;
+        }
+
+        /**
+         * Sets the executor loading the new values of refreshed entries.
+         * Defaults to the common fork-join pool.
+         *
+         * @param executor The executor running the refreshes.
+         * @return This builder.
+         */
+        public Builder<K, V> executor(@NotNull Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+
+        /**
+         * Makes the map hold its values with weak references, so that a value is removed from the map
+         * once nothing else references it and it is garbage collected.
+         *
+         * <p>Values are then compared by identity rather than with {@link Object#equals(Object)}.</p>
+         *
+         * @return This builder.
+         */
+        public Builder<K, V> weakValues() {
+            this.valueStrength = Strength.WEAK;
+            return this;
+        }
+
+        /**
+         * Makes the map hold its values with soft references, so that a value nothing else references
+         * is removed from the map when the garbage collector needs memory, least recently used first.
+         *
+         * <p>Values are then compared by identity rather than with {@link Object#equals(Object)}.</p>
+         *
+         * @return This builder.
+         */
+        public Builder<K, V> softValues() {
+            this.valueStrength = Strength.SOFT;
+            return this;
+        }
+
+        /**
+         * Sets the listener notified of every entry removed from the map, whatever the cause.
+         * The listener runs on the thread performing the removal, and should be fast.
+         *
+         * @param removalListener The listener of removed entries.
+         * @return This builder.
+         */
+        public Builder<K, V> removalListener(@NotNull RemovalListener<? super K, ? super V> removalListener) {
+            this.removalListener = Objects.requireNonNull(removalListener, "removalListener");
+            return this;
+        }
+
+        /**
+         * Sets the function loading many missing keys at once, used by {@link LoadingMap#getAll(Iterable)}.
+         * The function is given the missing keys only, and the keys it leaves out of its result
+         * are loaded one by one with the loading function.
+         *
+         * @param batchFunction The function used to compute and load values for many missing keys at once.
+         * @return This builder.
+         */
+        public Builder<K, V> batchLoader(@NotNull Function<Set<K>, Map<K, V>> batchFunction) {
+            this.batchFunction = Objects.requireNonNull(batchFunction, "batchFunction");
+            return this;
+        }
+
+        /**
+         * Makes the map record statistics about its lookups, loads and evictions, see {@link LoadingMap#stats()}.
+         * Maps not recording statistics do not pay for them.
+         *
+         * @return This builder.
+         */
+        public Builder<K, V> recordStats() {
+            this.recordStats = true;
+            return this;
+        }
+
+        /**
+         * Builds a new "LoadingMap" with the options of this builder and the provided function to load values.
+         *
+         * @param function The function used to compute and load values for missing keys.
+         * @return A new "LoadingMap" instance with the specified loading function.
+         * @throws IllegalStateException If both a maximum size and a maximum weight are set.
+         */
+        public @NotNull LoadingMap<K, V> build(@NotNull Function<K, V> function) {
+            if (this.maximumSize < 0 && this.maximumWeight < 0 && this.expireAfterAccess == null
+                    && this.expireAfterWrite == null && this.refreshAfterWrite == null && this.valueStrength == null
+                    && this.removalListener == null) {
+                return new LoadingMap<>(new ConcurrentHashMap<>(), function, this.batchFunction,
+                        this.recordStats ? new StatsCounter() : null);
+            }
+
+            @SuppressWarnings("unchecked")
+            CacheBuilder<K, V> builder = (CacheBuilder<K, V>) (CacheBuilder<?, ?>) CacheBuilder.newBuilder();
+
+            if (this.maximumSize >= 0) {
+                builder.maximumSize(this.maximumSize);
+            }
+            if (this.maximumWeight >= 0) {
+                builder = builder.maximumWeight(this.maximumWeight).weigher(this.weigher);
+            }
+            if (this.expireAfterAccess != null) {
+                builder.expireAfterAccess(this.expireAfterAccess);
+            }
+            if (this.expireAfterWrite != null) {
+                builder.expireAfterWrite(this.expireAfterWrite);
+            }
+            if (this.refreshAfterWrite != null) {
+                builder.refreshAfterWrite(this.refreshAfterWrite);
+            }
+            if (this.valueStrength == Strength.WEAK) {
+                builder.weakValues();
+            } else if (this.valueStrength == Strength.SOFT) {
+                builder.softValues();
+            }
+            if (this.removalListener != null) {
+                builder = builder.removalListener(this.removalListener);
+            }
+            if (this.recordStats) {
+                builder.recordStats();
+            }
+
+            CacheLoader<K, V> loader = this.batchFunction == null
+                    ? CacheLoader.from(function::apply)
+                    : new BatchCacheLoader<>(function, this.batchFunction);
+            if (this.refreshAfterWrite != null) {
+                loader = CacheLoader.asyncReloading(loader, this.executor != null ? this.executor : ForkJoinPool.commonPool());
+            }
+            return new LoadingMap<>(builder.build(loader), function);
+        }
+
+        private enum Strength {
+            WEAK, SOFT
+        }
+    }
 }
\ No newline at end of file
@@ -19,11 +19,57 @@ public final class NumberUtil {
             return null;
         }
 
-        try {
-            return Integer.parseInt(str.trim());
-        } catch (NumberFormatException err) {
+        return NumberUtil.parseIntOrNull(str.trim());
+    }
+
+    /**
+     * Parses the given string as a decimal integer, with the same syntax as {@link Integer#parseInt(String)},
+     * but returns {@code null} instead of throwing an exception if it is not valid. The string is not trimmed.
+     *
+     * @param str The string to parse as an integer, may be {@code null}.
+     * @return The string parsed as an integer or {@code null} if the string is not a valid representation of
+     * an integer.
+     */
+    @Nullable
+    public static Integer parseIntOrNull(@Nullable CharSequence str) {
+        if (str == null || str.isEmpty()) {
             return null;
         }
+
+        // accumulated negatively, as the negative range is the larger one
+        int length = str.length();
+        int i = 0;
+        int limit = -Integer.MAX_VALUE;
+        boolean negative = false;
+
+        char first = str.charAt(0);
+        if (first < '0') {
+            if (first == '-') {
+                negative = true;
+                limit = Integer.MIN_VALUE;
+            } else if (first != '+') {
+                return null;
+            }
+            if (length == 1) {
+                return null;
+            }
+            i++;
+        }
+
+        int multiplyLimit = limit / 10;
+        int result = 0;
+        while (i < length) {
+            int digit = Character.digit(str.charAt(i++), 10);
+            if (digit < 0 || result < multiplyLimit) {
+                return null;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return null;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
     }
 
     /**
@@ -67,11 +113,153 @@ public final class NumberUtil {
             return null;
         }
 
-        try {
-            return Long.parseLong(str.trim());
-        } catch (NumberFormatException err) {
+        return NumberUtil.parseLongOrNull(str.trim());
+    }
+
+    /**
+     * Parses the given string as a decimal long number, with the same syntax as {@link Long#parseLong(String)},
+     * but returns {@code null} instead of throwing an exception if it is not valid. The string is not trimmed.
+     *
+     * @param str The string to parse as a long number, may be {@code null}.
+     * @return The string parsed as a long number or {@code null} if the string is not a valid representation of
+     * a long number.
+     */
+    @Nullable
+    public static Long parseLongOrNull(@Nullable CharSequence str) {
+        if (str == null || str.isEmpty()) {
             return null;
         }
+
+        // accumulated negatively, as the negative range is the larger one
+        int length = str.length();
+        int i = 0;
+        long limit = -Long.MAX_VALUE;
+        boolean negative = false;
+
+        char first = str.charAt(0);
+        if (first < '0') {
+            if (first == '-') {
+                negative = true;
+                limit = Long.MIN_VALUE;
+            } else if (first != '+') {
+                return null;
+            }
+            if (length == 1) {
+                return null;
+            }
+            i++;
+        }
+
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        while (i < length) {
+            int digit = Character.digit(str.charAt(i++), 10);
+            if (digit < 0 || result < multiplyLimit) {
+                return null;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return null;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses the given string as a double, with the same syntax as {@link Double#parseDouble(String)},
+     * but returns {@code null} instead of throwing an exception if it is not valid.
+     *
+     * @param str The string to parse as a double, may be {@code null}.
+     * @return The string parsed as a double or {@code null} if the string is not a valid representation of
+     * a double.
+     */
+    @Nullable
+    public static Double parseDoubleOrNull(@Nullable CharSequence str) {
+        if (str == null || !isDouble(str)) {
+            return null;
+        }
+        return Double.parseDouble(str.toString());
+    }
+
+    // checks the syntax of Double#valueOf(String), so that parsing a valid string never throws
+    private static boolean isDouble(CharSequence str) {
+        // leading and trailing control characters and spaces are ignored, as String#trim does
+        int start = 0;
+        int end = str.length();
+        while (start < end && str.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && str.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        int i = start;
+        if (i < end && (str.charAt(i) == '+' || str.charAt(i) == '-')) {
+            i++;
+        }
+        if (isRegion(str, i, end, "NaN") || isRegion(str, i, end, "Infinity")) {
+            return true;
+        }
+
+        boolean hex = end - i > 2 && str.charAt(i) == '0' && (str.charAt(i + 1) | 0x20) == 'x';
+        if (hex) {
+            i += 2;
+        }
+
+        int digits = 0;
+        while (i < end && isDigit(str.charAt(i), hex)) {
+            i++;
+            digits++;
+        }
+        if (i < end && str.charAt(i) == '.') {
+            i++;
+            while (i < end && isDigit(str.charAt(i), hex)) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        // the exponent is decimal, and is mandatory for hexadecimal numbers
+        if (i < end && (str.charAt(i) | 0x20) == (hex ? 'p' : 'e')) {
+            i++;
+            if (i < end && (str.charAt(i) == '+' || str.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < end && isDigit(str.charAt(i), false)) {
+                i++;
+            }
+            if (i == exponentStart) {
+                return false;
+            }
+        } else if (hex) {
+            return false;
+        }
+
+        if (i < end && "fFdD".indexOf(str.charAt(i)) != -1) {
+            i++;
+        }
+        return i == end;
+    }
+
+    private static boolean isDigit(char c, boolean hex) {
+        return (c >= '0' && c <= '9') || (hex && (c | 0x20) >= 'a' && (c | 0x20) <= 'f');
+    }
+
+    private static boolean isRegion(CharSequence str, int start, int end, String region) {
+        if (end - start != region.length()) {
+            return false;
+        }
+        for (int i = 0; i < region.length(); i++) {
+            if (str.charAt(start + i) != region.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -1,6 +1,13 @@
 package com.kubbidev.java.util;
 
+import org.jetbrains.annotations.NotNull;
+
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
 
 public final class RandomUtil {
 
@@ -10,16 +17,82 @@ public final class RandomUtil {
 
     /**
      * A shared instance of the Java Random class for generating random numbers.
+     *
+     * @deprecated the methods of this class no longer use this instance, see {@link #generator()}.
+     * A single shared {@link Random} becomes a contention point when many threads draw at once.
      */
+    @Deprecated
     public static final Random RANDOM = new Random();
 
+    // provides the generator used by the calling thread
+    private static volatile Supplier<? extends RandomGenerator> generator = threadLocalGenerators();
+
+    /**
+     * Gets the random generator the methods of this class use on the calling thread.
+     * By default, each thread uses its own {@link ThreadLocalRandom}, so threads never contend.
+     *
+     * @return The random generator of the calling thread.
+     */
+    public static @NotNull RandomGenerator generator() {
+        return generator.get();
+    }
+
+    /**
+     * Sets where the methods of this class get their random generator from.
+     * The supplier is called on every random operation, and must be thread-safe.
+     *
+     * @param supplier The supplier of the random generator to use on the calling thread.
+     */
+    public static void setGenerator(@NotNull Supplier<? extends RandomGenerator> supplier) {
+        generator = Objects.requireNonNull(supplier, "supplier");
+    }
+
+    /**
+     * Makes the methods of this class reproducible, by seeding the generators with the given seed.
+     *
+     * @param seed The seed to use.
+     * @see #seededGenerators(long)
+     */
+    public static void setSeed(long seed) {
+        setGenerator(seededGenerators(seed));
+    }
+
+    /**
+     * Gets a supplier of per-thread, non-reproducible random generators. This is the default.
+     *
+     * @return A supplier of the {@link ThreadLocalRandom} of the calling thread.
+     */
+    public static @NotNull Supplier<RandomGenerator> threadLocalGenerators() {
+        return ThreadLocalRandom::current;
+    }
+
+    /**
+     * Gets a supplier of per-thread random generators derived from the given seed.
+     *
+     * <p>The first time a thread asks for a generator, it gets one split from a {@link SplittableRandom}
+     * seeded with the given seed. The sequence of a thread is thus reproducible as long as threads ask
+     * for their generator in the same order, which is always the case for a single thread.</p>
+     *
+     * @param seed The seed to use.
+     * @return A supplier of the seeded random generator of the calling thread.
+     */
+    public static @NotNull Supplier<RandomGenerator> seededGenerators(long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        ThreadLocal<RandomGenerator> generators = ThreadLocal.withInitial(() -> {
+            synchronized (root) {
+                return root.split();
+            }
+        });
+        return generators::get;
+    }
+
     /**
      * Generates a random float value between 0 (inclusive) and 1 (exclusive).
      *
      * @return The random float value.
      */
     public static float get() {
-        return RANDOM.nextFloat();
+        return generator().nextFloat();
     }
 
     /**
@@ -53,7 +126,7 @@ public final class RandomUtil {
      * @return The random int value.
      */
     public static int get(int min, int max) {
-        return min + (int) Math.floor(RANDOM.nextDouble() * (max - min + 1));
+        return min + (int) Math.floor(generator().nextDouble() * (max - min + 1));
     }
 
     /**
@@ -74,7 +147,7 @@ public final class RandomUtil {
      * @return The random double value.
      */
     public static double getDouble(double min, double max) {
-        return min + (max - min) * RANDOM.nextDouble();
+        return min + (max - min) * generator().nextDouble();
     }
 
     /**
@@ -87,7 +160,7 @@ public final class RandomUtil {
      */
     public static double getDoubleNegative(double min, double max) {
         double range = max - min;
-        double scaled = RANDOM.nextDouble() * range;
+        double scaled = generator().nextDouble() * range;
         return scaled + min;
     }
 
@@ -165,32 +238,315 @@ public final class RandomUtil {
      * @return A list of randomly selected values from the map, or an empty list if the map is empty or all values have zero or negative weights.
      */
     public static <T> List<T> getDoubleMap(Map<T, Double> map, int amount) {
-        // Remove values with non-positive weights
-        map.values().removeIf(chance -> chance <= 0);
+        // Keep only positive weights, without touching the given map
+        List<T> keys = new ArrayList<>(map.size());
+        double[] cumulative = new double[map.size()];
+        double total = 0;
 
-        if (map.isEmpty())
-            return Collections.emptyList();
+        for (Map.Entry<T, Double> entry : map.entrySet()) {
+            double weight = entry.getValue();
+            if (weight > 0) {
+                total += weight;
+                cumulative[keys.size()] = total;
+                keys.add(entry.getKey());
+            }
+        }
 
-        List<T> list = new ArrayList<>();
-        double total = map.values().stream().mapToDouble(d -> d).sum();
+        if (keys.isEmpty())
+            return Collections.emptyList();
 
+        List<T> list = new ArrayList<>(Math.max(amount, 0));
         for (int count = 0; count < amount; count++) {
             double index = RandomUtil.getDouble(0, total);
-            double countWeight = 0;
 
-            for (Map.Entry<T, Double> entry : map.entrySet()) {
-                countWeight += entry.getValue();
+            // first entry whose cumulative weight reaches the index
+            int found = Arrays.binarySearch(cumulative, 0, keys.size(), index);
+            if (found < 0) {
+                found = Math.min(-found - 1, keys.size() - 1);
+            }
+            list.add(keys.get(found));
+        }
+
+        return list;
+    }
+
+    /**
+     * Randomly selects distinct keys from the provided map based on their weights, without replacement.
+     * The probability of each key is determined by its associated weight (a positive double value).
+     * Keys with weights less than or equal to 0 are excluded from selection. The map is not modified.
+     *
+     * @param map    The map containing the keys and their weights (probabilities).
+     * @param amount The maximum number of distinct keys to select.
+     * @param <T>    The type of keys in the map.
+     * @return A list of distinct keys, in selection order, with fewer than {@code amount} keys if there are not enough positive weights.
+     * @see #sampleWithoutReplacement(Iterator, ToDoubleFunction, int)
+     */
+    public static <T> List<T> sampleWithoutReplacement(Map<T, Double> map, int amount) {
+        Iterator<Map.Entry<T, Double>> entries = map.entrySet().iterator();
+        List<Map.Entry<T, Double>> sample = sampleWithoutReplacement(entries, Map.Entry::getValue, amount);
+
+        List<T> list = new ArrayList<>(sample.size());
+        for (Map.Entry<T, Double> entry : sample) {
+            list.add(entry.getKey());
+        }
+        return list;
+    }
+
+    /**
+     * Randomly selects distinct elements from the provided iterator based on their weights, without replacement.
+     * Elements with weights less than or equal to 0 are excluded from selection.
+     *
+     * <p>The elements are read once, so they can come from a source far too large to hold in memory.
+     * Each element gets a random key {@code log(u) / weight}, and the elements with the largest keys are
+     * kept in a heap of size {@code amount} (Efraimidis-Spirakis), for a total cost of O(n log amount).</p>
+     *
+     * @param items  The elements to select from.
+     * @param weigher The function giving the weight of each element.
+     * @param amount The maximum number of distinct elements to select.
+     * @param <T>    The type of the elements.
+     * @return A list of distinct elements, in selection order, with fewer than {@code amount} elements if there are not enough positive weights.
+     */
+    public static <T> List<T> sampleWithoutReplacement(Iterator<? extends T> items, ToDoubleFunction<? super T> weigher, int amount) {
+        if (amount <= 0)
+            return Collections.emptyList();
+
+        RandomGenerator random = generator();
+        PriorityQueue<WeightedKey<T>> heap = new PriorityQueue<>(amount, Comparator.comparingDouble(WeightedKey::key));
+
+        while (items.hasNext()) {
+            T item = items.next();
+
+            double weight = weigher.applyAsDouble(item);
+            if (!(weight > 0))
+                continue;
 
-                if (countWeight >= index) {
-                    list.add(entry.getKey());
-                    break;
-                }
+            // u is in (0, 1], so the key is in [-inf, 0]
+            double key = Math.log(1 - random.nextDouble()) / weight;
+            if (heap.size() < amount) {
+                heap.add(new WeightedKey<>(key, item));
+            } else if (key > heap.peek().key()) {
+                heap.poll();
+                heap.add(new WeightedKey<>(key, item));
             }
         }
 
+        // the heap yields the smallest keys first, the selection order is the reverse
+        List<T> list = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            list.add(heap.poll().value());
+        }
+        Collections.reverse(list);
         return list;
     }
 
+    private record WeightedKey<T>(double key, T value) { }
+
+    /**
+     * Randomly selects elements from the provided iterator, each element having the same probability
+     * to be selected, without knowing the number of elements in advance (reservoir sampling).
+     *
+     * <p>The elements are read once, and only the selected ones are held in memory. The random skips
+     * between replacements are computed directly (Li's algorithm L), so only O(amount * log(n / amount))
+     * random numbers are drawn for n elements.</p>
+     *
+     * @param items  The elements to select from.
+     * @param amount The maximum number of elements to select.
+     * @param <T>    The type of the elements.
+     * @return A list of selected elements, in no particular order, with all the elements if there are fewer than {@code amount}.
+     */
+    public static <T> List<T> reservoirSample(Iterator<? extends T> items, int amount) {
+        if (amount <= 0)
+            return Collections.emptyList();
+
+        List<T> reservoir = new ArrayList<>(amount);
+        while (reservoir.size() < amount && items.hasNext()) {
+            reservoir.add(items.next());
+        }
+        if (!items.hasNext())
+            return reservoir;
+
+        RandomGenerator random = generator();
+        double w = Math.exp(Math.log(1 - random.nextDouble()) / amount);
+
+        for (; ; ) {
+            // number of elements to skip before the next replacement
+            long skip = (long) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - w));
+            for (long i = 0; i < skip; i++) {
+                if (!items.hasNext())
+                    return reservoir;
+                items.next();
+            }
+            if (!items.hasNext())
+                return reservoir;
+
+            reservoir.set(random.nextInt(amount), items.next());
+            w *= Math.exp(Math.log(1 - random.nextDouble()) / amount);
+        }
+    }
+
+    /**
+     * Randomly selects elements from the provided stream, each element having the same probability
+     * to be selected, without knowing the number of elements in advance (reservoir sampling).
+     *
+     * @param items  The elements to select from.
+     * @param amount The maximum number of elements to select.
+     * @param <T>    The type of the elements.
+     * @return A list of selected elements, in no particular order, with all the elements if there are fewer than {@code amount}.
+     * @see #reservoirSample(Iterator, int)
+     */
+    public static <T> List<T> reservoirSample(Stream<? extends T> items, int amount) {
+        return reservoirSample(items.iterator(), amount);
+    }
+
+    /**
+     * Fills the given array with random int values between the specified origin (inclusive) and bound (exclusive).
+     * The whole array is filled using the generator of the calling thread, fetched once.
+     *
+     * @param array  The array to fill.
+     * @param origin The minimum value of the random range, inclusive.
+     * @param bound  The upper bound of the random range, exclusive.
+     * @throws IllegalArgumentException If {@code origin} is not less than {@code bound}.
+     */
+    public static void nextInts(int[] array, int origin, int bound) {
+        RandomGenerator random = generator();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(origin, bound);
+        }
+    }
+
+    /**
+     * Fills the given array with random long values between the specified origin (inclusive) and bound (exclusive).
+     * The whole array is filled using the generator of the calling thread, fetched once.
+     *
+     * @param array  The array to fill.
+     * @param origin The minimum value of the random range, inclusive.
+     * @param bound  The upper bound of the random range, exclusive.
+     * @throws IllegalArgumentException If {@code origin} is not less than {@code bound}.
+     */
+    public static void nextLongs(long[] array, long origin, long bound) {
+        RandomGenerator random = generator();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextLong(origin, bound);
+        }
+    }
+
+    /**
+     * Fills the given array with random double values between 0 (inclusive) and 1 (exclusive).
+     * The whole array is filled using the generator of the calling thread, fetched once.
+     *
+     * @param array The array to fill.
+     */
+    public static void nextDoubles(double[] array) {
+        RandomGenerator random = generator();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextDouble();
+        }
+    }
+
+    /**
+     * Fills the given array with random double values between the specified origin (inclusive) and bound (exclusive).
+     * The whole array is filled using the generator of the calling thread, fetched once.
+     *
+     * @param array  The array to fill.
+     * @param origin The minimum value of the random range, inclusive.
+     * @param bound  The upper bound of the random range, exclusive.
+     * @throws IllegalArgumentException If {@code origin} is not less than {@code bound}.
+     */
+    public static void nextDoubles(double[] array, double origin, double bound) {
+        RandomGenerator random = generator();
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextDouble(origin, bound);
+        }
+    }
+
+    /**
+     * Randomly permutes the given array in place (Fisher-Yates), every permutation being equally likely.
+     *
+     * @param array The array to shuffle.
+     */
+    public static void shuffle(int[] array) {
+        RandomGenerator random = generator();
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    /**
+     * Randomly permutes the given array in place (Fisher-Yates), every permutation being equally likely.
+     *
+     * @param array The array to shuffle.
+     */
+    public static void shuffle(long[] array) {
+        RandomGenerator random = generator();
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    /**
+     * Randomly permutes the given array in place (Fisher-Yates), every permutation being equally likely.
+     *
+     * @param array The array to shuffle.
+     */
+    public static void shuffle(double[] array) {
+        RandomGenerator random = generator();
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            double tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    /**
+     * Randomly permutes the given array in place (Fisher-Yates), every permutation being equally likely.
+     *
+     * @param array The array to shuffle.
+     * @param <E>   The type of elements in the array.
+     */
+    public static <E> void shuffle(E[] array) {
+        RandomGenerator random = generator();
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            E tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    /**
+     * Randomly permutes the given list in place, every permutation being equally likely.
+     * Lists without random access are shuffled through an array, as {@link Collections#shuffle(List)} does.
+     *
+     * @param list The list to shuffle.
+     * @param <E>  The type of elements in the list.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> void shuffle(List<E> list) {
+        if (list instanceof RandomAccess) {
+            RandomGenerator random = generator();
+            for (int i = list.size() - 1; i > 0; i--) {
+                list.set(i, list.set(random.nextInt(i + 1), list.get(i)));
+            }
+            return;
+        }
+
+        Object[] array = list.toArray();
+        shuffle(array);
+
+        ListIterator<E> iterator = list.listIterator();
+        for (Object element : array) {
+            iterator.next();
+            iterator.set((E) element);
+        }
+    }
+
     /**
      * Determines whether a certain chance percentage is met.
      *
@@ -218,7 +574,7 @@ public final class RandomUtil {
      * @return The random int value.
      */
     public static int nextInt(int n) {
-        return (int) Math.floor(RANDOM.nextDouble() * n);
+        return (int) Math.floor(generator().nextDouble() * n);
     }
 
     /**
@@ -227,7 +583,7 @@ public final class RandomUtil {
      * @return The random int value.
      */
     public static int nextInt() {
-        return RANDOM.nextInt();
+        return generator().nextInt();
     }
 
     /**
@@ -236,7 +592,7 @@ public final class RandomUtil {
      * @return The random double value.
      */
     public static double nextDouble() {
-        return RANDOM.nextDouble();
+        return generator().nextDouble();
     }
 
     /**
@@ -245,7 +601,7 @@ public final class RandomUtil {
      * @return The random double value.
      */
     public static double nextGaussian() {
-        return RANDOM.nextGaussian();
+        return generator().nextGaussian();
     }
 
     /**
@@ -254,6 +610,6 @@ public final class RandomUtil {
      * @return The random boolean value.
      */
     public static boolean nextBoolean() {
-        return RANDOM.nextBoolean();
+        return generator().nextBoolean();
     }
 }
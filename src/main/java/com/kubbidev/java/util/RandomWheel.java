@@ -2,16 +2,56 @@ package com.kubbidev.java.util;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
+/**
+ * A wheel of weighted values, drawn at random with a probability proportional to their weight.
+ *
+ * <p>Draws use an alias table (Vose's method), built once from the sections and rebuilt on the
+ * first draw after a section is added or the wheel is cleared. Each draw then costs O(1) and does
+ * not allocate, whatever the number of sections. The wheel can be drawn from many threads at once.</p>
+ *
+ * <p>Unless another source is given, the wheel uses the generator of {@link RandomUtil#generator()},
+ * which is per-thread by default, so concurrent draws do not contend on a shared seed.</p>
+ *
+ * @param <T> The type of the values on the wheel.
+ */
 public class RandomWheel<T> {
 
     private record RandomWheelSection<T>(double weight, T value) { }
 
     private final List<RandomWheelSection<T>> sections = new ArrayList<>();
-    private final Random random = new Random();
+    private final Supplier<? extends RandomGenerator> random;
 
-    private double totalWeight = 0;
+    // the alias table of the current sections, or null if it has to be built again
+    private volatile AliasTable<T> table;
+
+    /**
+     * Creates a wheel drawing with the generators of {@link RandomUtil#generator()}.
+     */
+    public RandomWheel() {
+        this(RandomUtil::generator);
+    }
+
+    /**
+     * Creates a wheel drawing with the generators provided by the given supplier.
+     * The supplier is called on every draw, and must be thread-safe.
+     *
+     * @param random The supplier of the random generator to use on the calling thread.
+     */
+    public RandomWheel(Supplier<? extends RandomGenerator> random) {
+        this.random = random;
+    }
+
+    /**
+     * Creates a wheel whose draws are reproducible, see {@link RandomUtil#seededGenerators(long)}.
+     *
+     * @param seed The seed to use.
+     */
+    public RandomWheel(long seed) {
+        this(RandomUtil.seededGenerators(seed));
+    }
 
     /**
      * Adds a new section to the random wheel with the given weight and value.
@@ -21,18 +61,18 @@ public class RandomWheel<T> {
      * @param weight The weight of the section.
      * @param value  The value associated with this section.
      */
-    public void addWheelSection(double weight, T value) {
+    public synchronized void addWheelSection(double weight, T value) {
         this.sections.add(new RandomWheelSection<>(weight, value));
-        this.totalWeight += weight;
+        this.table = null;
     }
 
     /**
      * Clears all sections from the random wheel.
      * After calling this method, the wheel will have no sections to choose from.
      */
-    public void clearSection() {
+    public synchronized void clearSection() {
         this.sections.clear();
-        this.totalWeight = 0;
+        this.table = null;
     }
 
     /**
@@ -40,18 +80,109 @@ public class RandomWheel<T> {
      * The higher the weight of a section, the more likely its associated value will be selected.
      *
      * @return A value randomly selected from the random wheel based on the weights of its sections.
+     * @throws IllegalStateException If the wheel has no sections.
      */
     public T draw() {
-        double rnd = this.totalWeight * this.random.nextDouble();
-        double sum = 0;
+        AliasTable<T> table = this.table;
+        if (table == null) {
+            table = buildTable();
+        }
+        return table.draw(this.random.get());
+    }
+
+    private synchronized AliasTable<T> buildTable() {
+        AliasTable<T> table = this.table;
+        if (table == null) {
+            if (this.sections.isEmpty()) {
+                throw new IllegalStateException("Cannot draw from a wheel with no sections");
+            }
+            table = new AliasTable<>(this.sections);
+            this.table = table;
+        }
+        return table;
+    }
+
+    /**
+     * An immutable alias table, sampling n weighted values with a single uniform random number.
+     *
+     * @param <T> The type of the values.
+     */
+    private static final class AliasTable<T> {
+        private final Object[] values;
+        private final double[] probability;
+        private final int[] alias;
+
+        AliasTable(List<RandomWheelSection<T>> sections) {
+            int n = sections.size();
+            this.values = new Object[n];
+            this.probability = new double[n];
+            this.alias = new int[n];
+
+            // sections with a negative weight are never drawn
+            double totalWeight = 0;
+            for (RandomWheelSection<T> section : sections) {
+                totalWeight += Math.max(0, section.weight());
+            }
+
+            // a wheel without positive weight always lands on its first section
+            if (!(totalWeight > 0)) {
+                for (int i = 0; i < n; i++) {
+                    this.values[i] = sections.get(i).value();
+                }
+                return;
+            }
+
+            double[] scaled = new double[n];
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallSize = 0;
+            int largeSize = 0;
+
+            for (int i = 0; i < n; i++) {
+                RandomWheelSection<T> section = sections.get(i);
+                this.values[i] = section.value();
+
+                scaled[i] = Math.max(0, section.weight()) * n / totalWeight;
+                if (scaled[i] < 1) {
+                    small[smallSize++] = i;
+                } else {
+                    large[largeSize++] = i;
+                }
+            }
+
+            while (smallSize > 0 && largeSize > 0) {
+                int less = small[--smallSize];
+                int more = large[--largeSize];
+
+                this.probability[less] = scaled[less];
+                this.alias[less] = more;
+
+                scaled[more] = (scaled[more] + scaled[less]) - 1;
+                if (scaled[more] < 1) {
+                    small[smallSize++] = more;
+                } else {
+                    large[largeSize++] = more;
+                }
+            }
+
+            // whatever is left is full, up to floating point errors
+            while (largeSize > 0) {
+                this.probability[large[--largeSize]] = 1;
+            }
+            while (smallSize > 0) {
+                this.probability[small[--smallSize]] = 1;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        T draw(RandomGenerator random) {
+            int n = this.values.length;
 
-        for (RandomWheelSection<T> section : this.sections) {
-            sum += section.weight;
+            // the integer part picks a column, the fractional part picks within the column
+            double u = random.nextDouble() * n;
+            int column = Math.min((int) u, n - 1);
 
-            if (sum >= rnd)
-                return section.value;
+            return (T) this.values[u - column < this.probability[column] ? column : this.alias[column]];
         }
-        // If no section is selected before the loop finishes, return the last section's value.
-        return this.sections.get(this.sections.size() - 1).value;
     }
-}
\ No newline at end of file
+}
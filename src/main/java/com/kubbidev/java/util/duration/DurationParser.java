@@ -1,46 +1,48 @@
 package com.kubbidev.java.util.duration;
 
-import com.google.common.collect.ImmutableMap;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public final class DurationParser {
 
     /**
-     * A map that associates ChronoUnit values with their corresponding regex patterns for parsing.
+     * The units a duration string is made of, in the order they must appear in.
      */
-    private static final Map<ChronoUnit, String> UNITS_PATTERNS = ImmutableMap.<ChronoUnit, String>builder()
-            .put(ChronoUnit.YEARS, "y(?:ear)?s?")
-            .put(ChronoUnit.MONTHS, "mo(?:nth)?s?")
-            .put(ChronoUnit.WEEKS, "w(?:eek)?s?")
-            .put(ChronoUnit.DAYS, "d(?:ay)?s?")
-            .put(ChronoUnit.HOURS, "h(?:our|r)?s?")
-            .put(ChronoUnit.MINUTES, "m(?:inute|in)?s?")
-            .put(ChronoUnit.SECONDS, "s(?:econd|ec)?s?")
-            .build();
+    private static final ChronoUnit[] UNITS = {
+            ChronoUnit.YEARS,
+            ChronoUnit.MONTHS,
+            ChronoUnit.WEEKS,
+            ChronoUnit.DAYS,
+            ChronoUnit.HOURS,
+            ChronoUnit.MINUTES,
+            ChronoUnit.SECONDS
+    };
 
     /**
-     * An array of ChronoUnits used for iterating and parsing duration components.
+     * The accepted spellings of each unit, matched case-insensitively. A spelling is never shared by two units.
      */
-    private static final ChronoUnit[] UNITS = UNITS_PATTERNS.keySet().toArray(new ChronoUnit[0]);
+    private static final String[][] UNIT_NAMES = {
+            {"y", "ys", "year", "years"},
+            {"mo", "mos", "month", "months"},
+            {"w", "ws", "week", "weeks"},
+            {"d", "ds", "day", "days"},
+            {"h", "hs", "hr", "hrs", "hour", "hours"},
+            {"m", "ms", "min", "mins", "minute", "minutes"},
+            {"s", "ss", "sec", "secs", "second", "seconds"}
+    };
 
     /**
-     * The regex pattern string used to match and parse duration strings.
+     * The length of each unit in seconds.
      */
-    private static final String PATTERN_STRING = UNITS_PATTERNS.values().stream()
-            .map(pattern -> "(?:(\\d+)\\s*" + pattern + "[,\\s]*)?")
-            .collect(Collectors.joining("", "^\\s*", "$"));
+    private static final long[] UNIT_SECONDS = new long[UNITS.length];
 
-    /**
-     * The compiled regex pattern used for matching and extracting duration components.
-     */
-    private static final Pattern PATTERN = Pattern.compile(PATTERN_STRING, Pattern.CASE_INSENSITIVE);
+    static {
+        for (int i = 0; i < UNITS.length; i++) {
+            UNIT_SECONDS[i] = UNITS[i].getDuration().getSeconds();
+        }
+    }
 
     private DurationParser() {
         throw new AssertionError("No com.kubbidev.java.util.duration.DurationParser instances for you!");
@@ -49,29 +51,124 @@ public final class DurationParser {
     /**
      * Parses the input duration string and converts it into a Duration object.
      *
+     * <p>The input is a sequence of amounts followed by their unit, e.g. {@code 1y2mo3w} or
+     * {@code 5 minutes, 30 seconds}. Units must appear at most once each, from the largest to the smallest.</p>
+     *
      * @param input The duration string to be parsed.
      * @return The parsed Duration object.
      * @throws IllegalArgumentException If the input string does not match the expected duration format.
      */
     public static @NotNull Duration parseDuration(String input) throws IllegalArgumentException {
-        Matcher matcher = PATTERN.matcher(input);
-        Duration duration = Duration.ZERO;
+        return Duration.ofSeconds(parseSeconds(input));
+    }
 
-        if (!matcher.matches()) {
-            throw new IllegalArgumentException("Unable to parse duration: " + input);
-        }
+    /**
+     * Parses the input duration string and converts it into a number of milliseconds, without allocating.
+     *
+     * @param input The duration string to be parsed.
+     * @return The parsed duration in milliseconds.
+     * @throws IllegalArgumentException If the input string does not match the expected duration format.
+     * @throws ArithmeticException      If the duration is too long to be represented in milliseconds.
+     * @see #parseDuration(String)
+     */
+    public static long parseToMillis(CharSequence input) throws IllegalArgumentException {
+        return Math.multiplyExact(parseSeconds(input), 1000L);
+    }
 
-        for (int i = 0; i < UNITS.length; i++) {
-            int g = i + 1;
+    // Grammar:
+    // duration = whitespace* (amount whitespace* unit (`,` | whitespace)*)*
+    // amount = digit+
+    // unit = one of UNIT_NAMES, each unit at most once and in the order of UNITS
+
+    private static long parseSeconds(CharSequence input) {
+        int length = input.length();
+        int pos = skipWhitespace(input, 0, false);
+
+        long seconds = 0;
+        int nextUnit = 0;
+
+        while (pos < length) {
+            // amount
+            int amountStart = pos;
+            long amount = 0;
+            while (pos < length && isDigit(input.charAt(pos))) {
+                amount = amount * 10 + (input.charAt(pos++) - '0');
+                if (amount > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Unable to parse duration: " + input);
+                }
+            }
+            if (pos == amountStart) {
+                throw new IllegalArgumentException("Unable to parse duration: " + input);
+            }
+
+            // unit
+            pos = skipWhitespace(input, pos, false);
+            int unitStart = pos;
+            while (pos < length && isLetter(input.charAt(pos))) pos++;
+
+            int unit = matchUnit(input, unitStart, pos, nextUnit);
+            if (unit == -1) {
+                throw new IllegalArgumentException("Unable to parse duration: " + input);
+            }
+
+            seconds += amount * UNIT_SECONDS[unit];
+            nextUnit = unit + 1;
+
+            pos = skipWhitespace(input, pos, true);
+        }
+        return seconds;
+    }
 
-            ChronoUnit unit = UNITS[i];
-            if (matcher.group(g) != null && !matcher.group(g).isEmpty()) {
-                int n = Integer.parseInt(matcher.group(g));
-                if (n > 0) {
-                    duration = duration.plus(unit.getDuration().multipliedBy(n));
+    /**
+     * Finds the unit spelled by the given region of the input, among the units allowed from the given one.
+     *
+     * @return The index of the unit in {@link #UNITS}, or -1 if no allowed unit has this spelling.
+     */
+    private static int matchUnit(CharSequence input, int start, int end, int fromUnit) {
+        for (int unit = fromUnit; unit < UNITS.length; unit++) {
+            for (String name : UNIT_NAMES[unit]) {
+                if (regionMatchesIgnoreCase(input, start, end, name)) {
+                    return unit;
                 }
             }
         }
-        return duration;
+        return -1;
+    }
+
+    private static boolean regionMatchesIgnoreCase(CharSequence input, int start, int end, String name) {
+        if (end - start != name.length()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            // names are lowercase, and only ascii letters reach this point
+            if ((input.charAt(start + i) | 0x20) != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int skipWhitespace(CharSequence input, int pos, boolean commas) {
+        while (pos < input.length()) {
+            char c = input.charAt(pos);
+            if (!(isWhitespace(c) || (commas && c == ','))) {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isWhitespace(char c) {
+        // same as the \s regex character class
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
     }
-}
\ No newline at end of file
+}
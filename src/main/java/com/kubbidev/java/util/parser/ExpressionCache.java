@@ -0,0 +1,109 @@
+package com.kubbidev.java.util.parser;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A bounded, thread-safe cache of {@link CompiledExpression} keyed by expression source.
+ *
+ * <p>Formulas usually come from configuration and translation files, so the same few
+ * expressions are compiled over and over. This cache makes a repeated expression skip
+ * parsing entirely, while its maximum size keeps memory bounded when many unique
+ * expressions are seen. The least recently used expressions are evicted first.</p>
+ *
+ * <p>The {@link #shared() shared cache} is invalidated on each reload of a
+ * {@link com.kubbidev.java.config.generic.KeyedConfiguration}, dropping the compiled
+ * expressions along with the configuration they were read from.</p>
+ */
+public final class ExpressionCache {
+
+    /**
+     * The default maximum number of compiled expressions held by a cache.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 1024;
+
+    private static final ExpressionCache SHARED = new ExpressionCache(DEFAULT_MAXIMUM_SIZE);
+
+    /**
+     * Gets the cache shared by the whole application, used by {@link DoubleEvaluator}.
+     *
+     * @return The shared expression cache.
+     */
+    public static @NotNull ExpressionCache shared() {
+        return SHARED;
+    }
+
+    private record Key(String expression, List<String> variables) { }
+
+    private final Cache<Key, CompiledExpression> cache;
+
+    /**
+     * Creates a new expression cache.
+     *
+     * @param maximumSize The maximum number of compiled expressions to hold.
+     */
+    public ExpressionCache(long maximumSize) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Gets the compiled form of the given expression, compiling it if it isn't cached yet.
+     *
+     * @param expression The mathematical expression to compile.
+     * @param variables  The names of the variables to declare, see {@link CompiledExpression#compile(String, String...)}.
+     * @return The compiled expression.
+     * @throws SyntaxErrorException If there is a syntax error in the expression.
+     */
+    public @NotNull CompiledExpression get(@NotNull String expression, @NotNull String... variables) throws SyntaxErrorException {
+        Key key = new Key(expression, variables.length == 0 ? ImmutableList.of() : ImmutableList.copyOf(variables));
+
+        CompiledExpression compiled = this.cache.getIfPresent(key);
+        if (compiled == null) {
+            // expressions that fail to compile are not cached, the exception is thrown again next time
+            compiled = CompiledExpression.compile(expression, variables);
+            this.cache.put(key, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Discards all the cached compiled expressions.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Gets the approximate number of compiled expressions held by this cache.
+     *
+     * @return The number of cached expressions.
+     */
+    public long size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Gets how many lookups found their expression already compiled.
+     *
+     * @return The number of cache hits.
+     */
+    public long hitCount() {
+        return this.cache.stats().hitCount();
+    }
+
+    /**
+     * Gets how many lookups had to compile their expression.
+     *
+     * @return The number of cache misses.
+     */
+    public long missCount() {
+        return this.cache.stats().missCount();
+    }
+}
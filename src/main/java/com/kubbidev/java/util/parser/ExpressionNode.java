@@ -0,0 +1,635 @@
+package com.kubbidev.java.util.parser;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * A node of a parsed mathematical expression.
+ *
+ * <p>Nodes are immutable and hold no evaluation state, so a tree of nodes can be
+ * evaluated any number of times, from any number of threads, without allocating.</p>
+ *
+ * <p>Besides the row by row evaluation, nodes can evaluate a whole block of rows at once
+ * from columnar inputs. Each node then runs one tight loop over the block instead of one
+ * virtual call per row, which lets the JIT vectorize the arithmetic.</p>
+ */
+abstract class ExpressionNode {
+
+    /**
+     * Evaluates this node and returns the resulting double value.
+     *
+     * @param variables The variable values, indexed by slot.
+     * @return The evaluated double value of this node.
+     */
+    abstract double evaluate(double[] variables);
+
+    /**
+     * Evaluates this node and returns the resulting double value.
+     *
+     * @param variables The source of the variable values.
+     * @return The evaluated double value of this node.
+     */
+    abstract double evaluate(VariableSource variables);
+
+    /**
+     * Evaluates this node for a block of rows.
+     *
+     * @param columns The variable values, one column per slot.
+     * @param offset  The index of the first row of the block in the columns.
+     * @param length  The number of rows in the block.
+     * @param out     The buffer receiving the results, starting at index 0.
+     * @param scratch The scratch buffers available to this node and its children.
+     * @param depth   The index of the first scratch buffer this node may use.
+     */
+    abstract void evaluate(double[][] columns, int offset, int length, double[] out, double[][] scratch, int depth);
+
+    /**
+     * Gets how many scratch buffers are needed to evaluate this node for a block of rows.
+     *
+     * @return The number of scratch buffers.
+     */
+    abstract int scratchDepth();
+
+    /**
+     * Simplifies this node and its children.
+     *
+     * <p>Constant sub-expressions are folded, identity operations are removed and squaring
+     * is reduced to a multiplication. Every rewrite is bit-identical to evaluating the node
+     * as written, which is why {@code x + 0} is kept ({@code -0.0 + 0} is {@code +0.0}).</p>
+     *
+     * @return The simplified node, or this node if it can't be simplified.
+     */
+    abstract ExpressionNode optimize();
+
+    /**
+     * Gets if this node is a constant with exactly the given value, comparing bits
+     * so that {@code 0.0} and {@code -0.0} are told apart.
+     *
+     * @param value The value to compare with.
+     * @return true if this node is a constant with the given value, otherwise false.
+     */
+    boolean isConstant(double value) {
+        return this instanceof Constant c && Double.doubleToRawLongBits(c.value) == Double.doubleToRawLongBits(value);
+    }
+
+    /**
+     * A constant number, e.g. {@code 2.5}.
+     */
+    static final class Constant extends ExpressionNode {
+        private final double value;
+
+        Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        double evaluate(double[] variables) {
+            return this.value;
+        }
+
+        @Override
+        double evaluate(VariableSource variables) {
+            return this.value;
+        }
+
+        @Override
+        void evaluate(double[][] columns, int offset, int length, double[] out, double[][] scratch, int depth) {
+            Arrays.fill(out, 0, length, this.value);
+        }
+
+        @Override
+        int scratchDepth() {
+            return 0;
+        }
+
+        @Override
+        ExpressionNode optimize() {
+            return this;
+        }
+    }
+
+    /**
+     * A variable bound at evaluation time, e.g. {@code {level}}.
+     */
+    static final class Variable extends ExpressionNode {
+        private final int slot;
+
+        Variable(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        double evaluate(double[] variables) {
+            return variables[this.slot];
+        }
+
+        @Override
+        double evaluate(VariableSource variables) {
+            return variables.get(this.slot);
+        }
+
+        @Override
+        void evaluate(double[][] columns, int offset, int length, double[] out, double[][] scratch, int depth) {
+            System.arraycopy(columns[this.slot], offset, out, 0, length);
+        }
+
+        @Override
+        int scratchDepth() {
+            return 0;
+        }
+
+        @Override
+        ExpressionNode optimize() {
+            return this;
+        }
+    }
+
+    /**
+     * The unary minus operator, e.g. {@code -x}.
+     */
+    static final class Negate extends ExpressionNode {
+        private final ExpressionNode operand;
+
+        Negate(ExpressionNode operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        double evaluate(double[] variables) {
+            return -this.operand.evaluate(variables);
+        }
+
+        @Override
+        double evaluate(VariableSource variables) {
+            return -this.operand.evaluate(variables);
+        }
+
+        @Override
+        void evaluate(double[][] columns, int offset, int length, double[] out, double[][] scratch, int depth) {
+            this.operand.evaluate(columns, offset, length, out, scratch, depth);
+            for (int i = 0; i < length; i++) {
+                out[i] = -out[i];
+            }
+        }
+
+        @Override
+        int scratchDepth() {
+            return this.operand.scratchDepth();
+        }
+
+        @Override
+        ExpressionNode optimize() {
+            ExpressionNode operand = this.operand.optimize();
+            if (operand instanceof Constant c) {
+                return new Constant(-c.value);
+            }
+            if (operand instanceof Negate n) {
+                return n.operand; // -(-x) = x
+            }
+            return operand == this.operand ? this : new Negate(operand);
+        }
+    }
+
+    /**
+     * The addition operator, e.g. {@code x + y}.
+     */
+    static final class Add extends ExpressionNode {
+        private final ExpressionNode left;
+        private final ExpressionNode right;
+
+        Add(ExpressionNode left, ExpressionNode right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double evaluate(double[] variables) {
+            return this.left.evaluate(variables) + this.right.evaluate(variables);
+        }
+
+        @Override
+        double evaluate(VariableSource variables) {
+            return this.left.evaluate(variables) + this.right.evaluate(variables);
+        }
+
+        @Override
+        void evaluate(double[][] columns, int offset, int length, double[] out, double[][] scratch, int depth) {
+            double[] right = scratch[depth];
+            this.left.evaluate(columns, offset, length, out, scratch, depth);
+            this.right.evaluate(columns, offset, length, right, scratch, depth + 1);
+            for (int i = 0; i < length; i++) {
+                out[i] = out[i] + right[i];
+            }
+        }
+
+        @Override
+        int scratchDepth() {
+            return Math.max(this.left.scratchDepth(), this.right.scratchDepth() + 1);
+        }
+
+        @Override
+        ExpressionNode optimize() {
+            ExpressionNode left = this.left.optimize();
+            ExpressionNode right = this.right.optimize();
+            if (left instanceof Constant l && right instanceof Constant r) {
+                return new Constant(l.value + r.value);
+            }
+            if (right.isConstant(-0.0)) {
+                return left; // x + -0 = x
+            }
+            if (left.isConstant(-0.0)) {
+                return right; // -0 + x = x
+            }
+            return left == this.left && right == this.right ? this : new Add(left, right);
+        }
+    }
+
+    /**
+     * The subtraction operator, e.g. {@code x - y}.
+     */
+    static final class Subtract extends ExpressionNode {
+        private final ExpressionNode left;
+        private final ExpressionNode right;
+
+        Subtract(ExpressionNode left, ExpressionNode right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double evaluate(double[] variables) {
+            return this.left.evaluate(variables) - this.right.evaluate(variables);
+        }
+
+        @Override
+        double evaluate(VariableSource variables) {
+            return this.left.evaluate(variables) - this.right.evaluate(variables);
+        }
+
+        @Override
+        void evaluate(double[][] columns, int offset, int length, double[] out, double[][] scratch, int depth) {
+            double[] right = scratch[depth];
+            this.left.evaluate(columns, offset, length, out, scratch, depth);
+            this.right.evaluate(columns, offset, length, right, scratch, depth + 1);
+            for (int i = 0; i < length; i++) {
+                out[i] = out[i] - right[i];
+            }
+        }
+
+        @Override
+        int scratchDepth() {
+            return Math.max(this.left.scratchDepth(), this.right.scratchDepth() + 1);
+        }
+
+        @Override
+        ExpressionNode optimize() {
+            ExpressionNode left = this.left.optimize();
+            ExpressionNode right = this.right.optimize();
+            if (left instanceof Constant l && right instanceof Constant r) {
+                return new Constant(l.value - r.value);
+            }
+            if (right.isConstant(0.0)) {
+                return left; // x - 0 = x
+            }
+            return left == this.left && right == this.right ? this : new Subtract(left, right);
+        }
+    }
+
+    /**
+     * The multiplication operator, e.g. {@code x * y}.
+     */
+    static final class Multiply extends ExpressionNode {
+        private final ExpressionNode left;
+        private final ExpressionNode right;
+
+        Multiply(ExpressionNode left, ExpressionNode right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double evaluate(double[] variables) {
+            return this.left.evaluate(variables) * this.right.evaluate(variables);
+        }
+
+        @Override
+        double evaluate(VariableSource variables) {
+            return this.left.evaluate(variables) * this.right.evaluate(variables);
+        }
+
+        @Override
+        void evaluate(double[][] columns, int offset, int length, double[] out, double[][] scratch, int depth) {
+            double[] right = scratch[depth];
+            this.left.evaluate(columns, offset, length, out, scratch, depth);
+            this.right.evaluate(columns, offset, length, right, scratch, depth + 1);
+            for (int i = 0; i < length; i++) {
+                out[i] = out[i] * right[i];
+            }
+        }
+
+        @Override
+        int scratchDepth() {
+            return Math.max(this.left.scratchDepth(), this.right.scratchDepth() + 1);
+        }
+
+        @Override
+        ExpressionNode optimize() {
+            ExpressionNode left = this.left.optimize();
+            ExpressionNode right = this.right.optimize();
+            if (left instanceof Constant l && right instanceof Constant r) {
+                return new Constant(l.value * r.value);
+            }
+            if (right.isConstant(1.0)) {
+                return left; // x * 1 = x
+            }
+            if (left.isConstant(1.0)) {
+                return right; // 1 * x = x
+            }
+            return left == this.left && right == this.right ? this : new Multiply(left, right);
+        }
+    }
+
+    /**
+     * The division operator, e.g. {@code x / y}.
+     */
+    static final class Divide extends ExpressionNode {
+        private final ExpressionNode left;
+        private final ExpressionNode right;
+
+        Divide(ExpressionNode left, ExpressionNode right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        double evaluate(double[] variables) {
+            return this.left.evaluate(variables) / this.right.evaluate(variables);
+        }
+
+        @Override
+        double evaluate(VariableSource variables) {
+            return this.left.evaluate(variables) / this.right.evaluate(variables);
+        }
+
+        @Override
+        void evaluate(double[][] columns, int offset, int length, double[] out, double[][] scratch, int depth) {
+            double[] right = scratch[depth];
+            this.left.evaluate(columns, offset, length, out, scratch, depth);
+            this.right.evaluate(columns, offset, length, right, scratch, depth + 1);
+            for (int i = 0; i < length; i++) {
+                out[i] = out[i] / right[i];
+            }
+        }
+
+        @Override
+        int scratchDepth() {
+            return Math.max(this.left.scratchDepth(), this.right.scratchDepth() + 1);
+        }
+
+        @Override
+        ExpressionNode optimize() {
+            ExpressionNode left = this.left.optimize();
+            ExpressionNode right = this.right.optimize();
+            if (left instanceof Constant l && right instanceof Constant r) {
+                return new Constant(l.value / r.value);
+            }
+            if (right.isConstant(1.0)) {
+                return left; // x / 1 = x
+            }
+            return left == this.left && right == this.right ? this : new Divide(left, right);
+        }
+    }
+
+    /**
+     * The exponentiation operator, e.g. {@code x ^ y}.
+     */
+    static final class Power extends ExpressionNode {
+        private final ExpressionNode base;
+        private final ExpressionNode exponent;
+
+        Power(ExpressionNode base, ExpressionNode exponent) {
+            this.base = base;
+            this.exponent = exponent;
+        }
+
+        @Override
+        double evaluate(double[] variables) {
+            return Math.pow(this.base.evaluate(variables), this.exponent.evaluate(variables));
+        }
+
+        @Override
+        double evaluate(VariableSource variables) {
+            return Math.pow(this.base.evaluate(variables), this.exponent.evaluate(variables));
+        }
+
+        @Override
+        void evaluate(double[][] columns, int offset, int length, double[] out, double[][] scratch, int depth) {
+            double[] exponent = scratch[depth];
+            this.base.evaluate(columns, offset, length, out, scratch, depth);
+            this.exponent.evaluate(columns, offset, length, exponent, scratch, depth + 1);
+            for (int i = 0; i < length; i++) {
+                out[i] = Math.pow(out[i], exponent[i]);
+            }
+        }
+
+        @Override
+        int scratchDepth() {
+            return Math.max(this.base.scratchDepth(), this.exponent.scratchDepth() + 1);
+        }
+
+        @Override
+        ExpressionNode optimize() {
+            ExpressionNode base = this.base.optimize();
+            ExpressionNode exponent = this.exponent.optimize();
+            if (base instanceof Constant b && exponent instanceof Constant e) {
+                return new Constant(Math.pow(b.value, e.value));
+            }
+            if (exponent.isConstant(0.0) || exponent.isConstant(-0.0)) {
+                return new Constant(1.0); // x ^ 0 = 1, even for NaN
+            }
+            if (exponent.isConstant(1.0)) {
+                return base; // x ^ 1 = x
+            }
+            if (exponent.isConstant(2.0)) {
+                return new Square(base); // x ^ 2 = x * x
+            }
+            return base == this.base && exponent == this.exponent ? this : new Power(base, exponent);
+        }
+    }
+
+    /**
+     * The square of a value, e.g. {@code x ^ 2}, computed as {@code x * x}.
+     *
+     * <p>This is bit-identical to {@code Math.pow(x, 2)}, which the JVM itself
+     * computes as a multiplication, without the cost of the call.</p>
+     */
+    static final class Square extends ExpressionNode {
+        private final ExpressionNode base;
+
+        Square(ExpressionNode base) {
+            this.base = base;
+        }
+
+        @Override
+        double evaluate(double[] variables) {
+            double x = this.base.evaluate(variables);
+            return x * x;
+        }
+
+        @Override
+        double evaluate(VariableSource variables) {
+            double x = this.base.evaluate(variables);
+            return x * x;
+        }
+
+        @Override
+        void evaluate(double[][] columns, int offset, int length, double[] out, double[][] scratch, int depth) {
+            this.base.evaluate(columns, offset, length, out, scratch, depth);
+            for (int i = 0; i < length; i++) {
+                out[i] = out[i] * out[i];
+            }
+        }
+
+        @Override
+        int scratchDepth() {
+            return this.base.scratchDepth();
+        }
+
+        @Override
+        ExpressionNode optimize() {
+            ExpressionNode base = this.base.optimize();
+            if (base instanceof Constant c) {
+                return new Constant(c.value * c.value);
+            }
+            return base == this.base ? this : new Square(base);
+        }
+    }
+
+    /**
+     * A function call, e.g. {@code sqrt(x)}.
+     */
+    static final class Call extends ExpressionNode {
+        private final MathFunction function;
+        private final ExpressionNode argument;
+
+        Call(MathFunction function, ExpressionNode argument) {
+            this.function = function;
+            this.argument = argument;
+        }
+
+        @Override
+        double evaluate(double[] variables) {
+            return this.function.apply(this.argument.evaluate(variables));
+        }
+
+        @Override
+        double evaluate(VariableSource variables) {
+            return this.function.apply(this.argument.evaluate(variables));
+        }
+
+        @Override
+        void evaluate(double[][] columns, int offset, int length, double[] out, double[][] scratch, int depth) {
+            this.argument.evaluate(columns, offset, length, out, scratch, depth);
+            this.function.apply(out, length);
+        }
+
+        @Override
+        int scratchDepth() {
+            return this.argument.scratchDepth();
+        }
+
+        @Override
+        ExpressionNode optimize() {
+            ExpressionNode argument = this.argument.optimize();
+            if (argument instanceof Constant c) {
+                return new Constant(this.function.apply(c.value));
+            }
+            return argument == this.argument ? this : new Call(this.function, argument);
+        }
+    }
+
+    /**
+     * The functions supported by the expression grammar.
+     */
+    enum MathFunction {
+        SQRT("sqrt"),
+        SIN("sin"),
+        COS("cos"),
+        TAN("tan"),
+        ABS("abs"),
+        CEIL("ceil"),
+        FLOOR("floor"),
+        ATAN("atan"),
+        ROUND("round"),
+        EXP("exp");
+
+        private final String name;
+
+        MathFunction(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Applies this function to the given argument.
+         *
+         * @param x The function argument.
+         * @return The function result.
+         */
+        double apply(double x) {
+            return switch (this) {
+                case SQRT -> Math.sqrt(x);
+                case SIN -> Math.sin(x);
+                case COS -> Math.cos(x);
+                case TAN -> Math.tan(x);
+                case ABS -> Math.abs(x);
+                case CEIL -> Math.ceil(x);
+                case FLOOR -> Math.floor(x);
+                case ATAN -> Math.atan(x);
+                case ROUND -> Math.round(x);
+                case EXP -> Math.exp(x);
+            };
+        }
+
+        /**
+         * Applies this function in place to the first values of the given array.
+         *
+         * @param values The function arguments, replaced by the function results.
+         * @param length The number of values to process.
+         */
+        void apply(double[] values, int length) {
+            switch (this) {
+                case SQRT -> {
+                    for (int i = 0; i < length; i++) values[i] = Math.sqrt(values[i]);
+                }
+                case ABS -> {
+                    for (int i = 0; i < length; i++) values[i] = Math.abs(values[i]);
+                }
+                case CEIL -> {
+                    for (int i = 0; i < length; i++) values[i] = Math.ceil(values[i]);
+                }
+                case FLOOR -> {
+                    for (int i = 0; i < length; i++) values[i] = Math.floor(values[i]);
+                }
+                default -> {
+                    for (int i = 0; i < length; i++) values[i] = apply(values[i]);
+                }
+            }
+        }
+
+        /**
+         * Gets the function with the given name.
+         *
+         * @param name The function name, as written in the expression.
+         * @return The matching function, or null if no function has this name.
+         */
+        static @Nullable MathFunction byName(String name) {
+            for (MathFunction function : values()) {
+                if (function.name.equals(name)) {
+                    return function;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.kubbidev.java.util.parser;
+
+import java.util.List;
+
+/**
+ * A recursive descent parser turning a mathematical expression into a tree of {@link ExpressionNode}.
+ *
+ * <p>A parser instance holds the scanning state and is therefore single-use, the resulting
+ * tree however is immutable and can be shared freely.</p>
+ */
+final class ExpressionParser {
+
+    private final String expression;
+    private final List<String> variables;
+    private final int declaredVariables;
+
+    private int pos = -1;
+    private int ch;
+
+    /**
+     * Creates a parser for the given expression.
+     *
+     * @param expression The mathematical expression to parse.
+     * @param variables  The declared variable names, in slot order. Variables found between
+     *                   curly brackets that are not declared yet are appended to this list.
+     */
+    ExpressionParser(String expression, List<String> variables) {
+        this.expression = expression;
+        this.variables = variables;
+        this.declaredVariables = variables.size();
+    }
+
+    private void nextChar() {
+        this.ch = (++this.pos < this.expression.length()) ? this.expression.charAt(this.pos) : -1;
+    }
+
+    private boolean eat(int charToEat) {
+        while (this.ch == ' ') nextChar();
+        if (this.ch == charToEat) {
+            nextChar();
+
+            return true;
+        }
+        return false;
+    }
+
+    // Grammar:
+    // expression = term | expression `+` term | expression `-` term
+    // term = factor | term `*` factor | term `/` factor
+    // factor = `+` factor | `-` factor | `(` expression `)` | number
+    //        | `{` variableName `}` | declaredVariableName
+    //        | functionName `(` expression `)` | functionName factor
+    //        | factor `^` factor
+
+    private ExpressionNode parseExpression() throws SyntaxErrorException {
+        ExpressionNode x = parseTerm();
+        for (; ; ) {
+            if (eat('+')) x = new ExpressionNode.Add(x, parseTerm()); // addition
+            else if (eat('-')) x = new ExpressionNode.Subtract(x, parseTerm()); // subtraction
+            else return x;
+        }
+    }
+
+    private ExpressionNode parseTerm() throws SyntaxErrorException {
+        ExpressionNode x = parseFactor();
+        for (; ; ) {
+            if (eat('*')) x = new ExpressionNode.Multiply(x, parseFactor()); // multiplication
+            else if (eat('/')) x = new ExpressionNode.Divide(x, parseFactor()); // division
+            else return x;
+        }
+    }
+
+    private ExpressionNode parseFactor() throws SyntaxErrorException {
+        if (eat('+')) return parseFactor(); // unary plus
+        if (eat('-')) return new ExpressionNode.Negate(parseFactor()); // unary minus
+
+        ExpressionNode x;
+        int startPos = this.pos;
+
+        if (eat('(')) { // parentheses
+            x = parseExpression();
+            if (!eat(')'))
+                throw new SyntaxErrorException("Missing ')'");
+
+        } else if ((this.ch >= '0' && this.ch <= '9') || this.ch == '.') { // numbers
+            while ((this.ch >= '0' && this.ch <= '9') || this.ch == '.') nextChar();
+
+            x = new ExpressionNode.Constant(Double.parseDouble(this.expression.substring(startPos, this.pos)));
+        } else if (eat('{')) { // variables
+            int nameStart = this.pos;
+            while (this.ch != '}' && this.ch != -1) nextChar();
+
+            String name = this.expression.substring(nameStart, this.pos);
+            if (!eat('}'))
+                throw new SyntaxErrorException("Missing '}' after variable " + name);
+            if (name.isEmpty())
+                throw new SyntaxErrorException("Empty variable name");
+
+            int slot = this.variables.indexOf(name);
+            if (slot == -1) {
+                slot = this.variables.size();
+                this.variables.add(name);
+            }
+            x = new ExpressionNode.Variable(slot);
+        } else if (this.ch >= 'a' && this.ch <= 'z') { // functions
+            while (this.ch >= 'a' && this.ch <= 'z') nextChar();
+
+            String func = this.expression.substring(startPos, this.pos);
+
+            // declared variables take precedence over functions of the same name,
+            // unless the name is directly followed by a parenthesized argument
+            int slot = this.variables.subList(0, this.declaredVariables).indexOf(func);
+            while (this.ch == ' ') nextChar();
+            if (slot != -1 && this.ch != '(') {
+                x = new ExpressionNode.Variable(slot);
+            } else {
+                if (eat('(')) {
+                    x = parseExpression();
+                    if (!eat(')')) throw new SyntaxErrorException("Missing ')' after argument to " + func);
+                } else {
+                    x = parseFactor();
+                }
+
+                // unknown functions leave their argument untouched
+                ExpressionNode.MathFunction function = ExpressionNode.MathFunction.byName(func);
+                if (function != null) {
+                    x = new ExpressionNode.Call(function, x);
+                }
+            }
+        } else {
+            throw new SyntaxErrorException("Unexpected: " + (char) this.ch);
+        }
+        if (eat('^'))
+            x = new ExpressionNode.Power(x, parseFactor()); // exponentiation
+
+        return x;
+    }
+
+    /**
+     * Parses the whole expression into a tree of nodes.
+     *
+     * @return The root node of the parsed expression.
+     * @throws SyntaxErrorException If there is a syntax error in the expression.
+     */
+    ExpressionNode parse() throws SyntaxErrorException {
+        nextChar();
+
+        ExpressionNode x = parseExpression();
+        if (this.pos < this.expression.length())
+            throw new SyntaxErrorException("Unexpected: " + (char) this.ch);
+        return x;
+    }
+}
@@ -0,0 +1,20 @@
+package com.kubbidev.java.util.parser;
+
+/**
+ * Supplies the values of the variables of a {@link CompiledExpression} at evaluation time.
+ *
+ * <p>Variables are resolved to slots when the expression is compiled, see
+ * {@link CompiledExpression#getVariables()} and {@link CompiledExpression#indexOf(String)}
+ * to map a variable name to its slot.</p>
+ */
+@FunctionalInterface
+public interface VariableSource {
+
+    /**
+     * Gets the current value of the variable bound to the given slot.
+     *
+     * @param slot The slot of the variable.
+     * @return The value of the variable.
+     */
+    double get(int slot);
+}
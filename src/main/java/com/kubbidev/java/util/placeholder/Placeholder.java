@@ -1,12 +1,25 @@
 package com.kubbidev.java.util.placeholder;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 public class Placeholder {
 
+    /**
+     * The number of characters read and written at once by {@link #apply(Reader, Writer)}.
+     */
+    private static final int CHUNK_SIZE = 8192;
+
     private final Closure closure;
-    private final Map<String, String> placeholders = new HashMap<>();
+
+    // values are either the rendered String, or a Lazy value computed when first used by a render
+    private final Map<String, Object> placeholders = new HashMap<>();
+    private int lazyCount = 0;
+    private int maxPathLength = 0;
 
     /**
      * Constructs a new FormulaPlaceholder instance with the specified closure character.
@@ -22,28 +35,326 @@ public class Placeholder {
      *
      * @param path The path (placeholder name) to be replaced in the formula.
      * @param obj  The object representing the value to replace the placeholder.
+     * @throws IllegalArgumentException If the path is empty or contains the closure head or tail.
      */
     public Placeholder register(String path, Object obj) {
+        checkPath(path);
         this.placeholders.put(path, obj.toString());
+        this.maxPathLength = Math.max(this.maxPathLength, path.length());
         return this;
     }
 
+    /**
+     * Registers a placeholder whose value is computed only when a formula actually uses it.
+     * The supplier is called at most once per render, even if the placeholder appears several times.
+     *
+     * @param path     The path (placeholder name) to be replaced in the formula.
+     * @param supplier The supplier of the object representing the value to replace the placeholder.
+     * @throws IllegalArgumentException If the path is empty or contains the closure head or tail.
+     */
+    public Placeholder register(String path, Supplier<?> supplier) {
+        checkPath(path);
+        int index = this.placeholders.get(path) instanceof Lazy lazy ? lazy.index() : this.lazyCount++;
+        this.placeholders.put(path, new Lazy(index, supplier));
+        this.maxPathLength = Math.max(this.maxPathLength, path.length());
+        return this;
+    }
+
+    private void checkPath(String path) {
+        // such a path could never be told apart from the closure around it
+        if (path.isEmpty() || path.indexOf(this.closure.getHead()) != -1 || path.indexOf(this.closure.getTail()) != -1) {
+            throw new IllegalArgumentException("Invalid placeholder path: " + path);
+        }
+    }
+
     /**
      * Applies the registered placeholders to the given formula string.
      * Replaces the placeholders in the formula with their corresponding registered values.
      *
+     * <p>The formula is scanned once from left to right. A placeholder is a closure head, followed by
+     * a non-empty name without closure characters, followed by the closure tail. Placeholders whose name is
+     * not registered are left untouched, and when the head and tail are the same character, their tail
+     * may open the next placeholder, e.g. {@code "%x%a%"} renders {@code "%x"} followed by the value of {@code a}.</p>
+     *
      * @param str The formula string containing placeholders.
      * @return The updated formula string with placeholders replaced by their values.
      */
     public String apply(String str) {
-        for (Map.Entry<String, String> entry : this.placeholders.entrySet()) {
+        char head = this.closure.getHead();
+
+        Resolver resolver = null;
+        StringBuilder builder = null;
+        int last = 0;
+
+        int i = str.indexOf(head);
+        while (i != -1) {
+            int end = this.closure.findTail(str, i);
+            if (end == -1) {
+                i = str.indexOf(head, i + 1);
+                continue;
+            }
+
+            if (resolver == null) {
+                resolver = resolver();
+            }
+
+            String value = resolver.resolve(str.substring(i + 1, end));
+            if (value != null) {
+                if (builder == null) {
+                    builder = new StringBuilder(str.length() + 16);
+                }
+                builder.append(str, last, i).append(value);
+                last = end + 1;
+                i = str.indexOf(head, end + 1);
+            } else {
+                // the tail of an unknown name may be the head of the next placeholder
+                i = str.indexOf(head, end);
+            }
+        }
+
+        // nothing was replaced, no need to copy the string
+        if (builder == null) {
+            return str;
+        }
+        return builder.append(str, last, str.length()).toString();
+    }
+
+    /**
+     * Applies the registered placeholders to the given formula and appends the result to the given target,
+     * without building an intermediate string.
+     *
+     * @param str The formula containing placeholders.
+     * @param out The target receiving the updated formula.
+     * @throws IOException If the target fails to append.
+     * @see #apply(String)
+     */
+    public void apply(CharSequence str, Appendable out) throws IOException {
+        apply(str, 0, out, resolver());
+    }
+
+    /**
+     * Applies the registered placeholders to the given formula from the given index,
+     * and appends the result to the given target.
+     *
+     * @param str      The formula containing placeholders.
+     * @param from     The index to start from.
+     * @param out      The target receiving the updated formula.
+     * @param resolver The resolver of the render.
+     * @throws IOException If the target fails to append.
+     */
+    void apply(CharSequence str, int from, Appendable out, Resolver resolver) throws IOException {
+        char head = this.closure.getHead();
+        int last = from;
+
+        for (int i = from; i < str.length(); i++) {
+            if (str.charAt(i) != head) {
+                continue;
+            }
+
+            int end = this.closure.findTail(str, i);
+            if (end == -1) {
+                continue;
+            }
+
+            String value = resolver.resolve(str.subSequence(i + 1, end).toString());
+            if (value != null) {
+                out.append(str, last, i).append(value);
+                last = end + 1;
+                i = end;
+            } else {
+                // the tail of an unknown name may be the head of the next placeholder
+                i = end - 1;
+            }
+        }
+        out.append(str, last, str.length());
+    }
+
+    /**
+     * Applies the registered placeholders to the formula read from the given reader, and writes the
+     * result to the given writer.
+     *
+     * <p>The formula is processed in fixed-size chunks, placeholders spanning two chunks included,
+     * so memory stays flat whatever the size of the formula. Lazy values are computed at most once
+     * for the whole formula. Neither the reader nor the writer is closed.</p>
+     *
+     * @param in  The reader providing the formula containing placeholders.
+     * @param out The writer receiving the updated formula.
+     * @throws IOException If reading or writing fails.
+     * @see #apply(String)
+     */
+    public void apply(Reader in, Writer out) throws IOException {
+        new StreamRenderer(out).render(in);
+    }
+
+    /**
+     * Precompiles the given formula string using the closure of this instance, so it can be
+     * rendered repeatedly without scanning it again.
+     *
+     * @param str The formula string containing placeholders.
+     * @return The compiled template.
+     */
+    public PlaceholderTemplate compile(String str) {
+        return PlaceholderTemplate.compile(str, this.closure);
+    }
+
+    /**
+     * Applies the registered placeholders to the given precompiled template.
+     *
+     * @param template The template containing placeholders.
+     * @return The rendered string with placeholders replaced by their values.
+     */
+    public String apply(PlaceholderTemplate template) {
+        return template.render(this);
+    }
+
+    /**
+     * Creates a resolver for a single render of a formula.
+     *
+     * @return A new resolver.
+     */
+    Resolver resolver() {
+        return new Resolver();
+    }
+
+    /**
+     * Renders a formula read chunk by chunk, keeping track of the placeholder being read
+     * when a chunk ends in the middle of one.
+     */
+    private final class StreamRenderer {
+        private static final int TEXT = 0; // reading plain text
+        private static final int PATH = 1; // reading a placeholder name after a head
+        private static final int SKIP = 2; // reading a name longer than any registered one
+
+        private final Resolver resolver = resolver();
+        private final StringBuilder path = new StringBuilder();
+        private final char[] output = new char[CHUNK_SIZE];
+        private final Writer out;
+
+        private int state = TEXT;
+        private int length = 0;
+
+        private StreamRenderer(Writer out) {
+            this.out = out;
+        }
+
+        private void render(Reader in) throws IOException {
+            char[] chunk = new char[CHUNK_SIZE];
+
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    accept(chunk[i]);
+                }
+            }
+
+            // an unterminated placeholder is plain text
+            if (this.state == PATH) {
+                write(Placeholder.this.closure.getHead());
+                write(this.path);
+            }
+            this.out.write(this.output, 0, this.length);
+        }
 
-            String field = entry.getKey();
-            String object = entry.getValue();
+        private void accept(char c) throws IOException {
+            Closure closure = Placeholder.this.closure;
 
-            str = str.replace(this.closure.getHead() + field + this.closure.getTail(), object);
+            switch (this.state) {
+                case TEXT -> {
+                    if (c == closure.getHead()) {
+                        this.path.setLength(0);
+                        this.state = PATH;
+                    } else {
+                        write(c);
+                    }
+                }
+                case PATH -> {
+                    if (c == closure.getTail() && this.path.length() != 0) {
+                        String value = this.resolver.resolve(this.path.toString());
+                        this.state = TEXT;
+                        if (value != null) {
+                            write(value);
+                        } else {
+                            // the tail of an unknown name may be the head of the next placeholder
+                            write(closure.getHead());
+                            write(this.path);
+                            accept(c);
+                        }
+                    } else if (c == closure.getHead() || c == closure.getTail()) {
+                        // not a placeholder, the character may still start the next one
+                        write(closure.getHead());
+                        write(this.path);
+                        this.state = TEXT;
+                        accept(c);
+                    } else if (this.path.length() == Placeholder.this.maxPathLength) {
+                        // too long to ever match, stop buffering the name
+                        write(closure.getHead());
+                        write(this.path);
+                        write(c);
+                        this.state = SKIP;
+                    } else {
+                        this.path.append(c);
+                    }
+                }
+                case SKIP -> {
+                    if (c == closure.getTail() || c == closure.getHead()) {
+                        this.state = TEXT;
+                        accept(c);
+                    } else {
+                        write(c);
+                    }
+                }
+            }
+        }
+
+        private void write(char c) throws IOException {
+            if (this.length == this.output.length) {
+                this.out.write(this.output, 0, this.length);
+                this.length = 0;
+            }
+            this.output[this.length++] = c;
+        }
+
+        private void write(CharSequence str) throws IOException {
+            for (int i = 0; i < str.length(); i++) {
+                write(str.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * A lazily registered value, with its index in the memoization array of a render.
+     */
+    private record Lazy(int index, Supplier<?> supplier) { }
+
+    /**
+     * Resolves placeholder values for a single render, computing each lazy value at most once.
+     */
+    final class Resolver {
+        private String[] resolved;
+
+        /**
+         * Gets the value registered for the given placeholder name.
+         *
+         * @param path The placeholder name.
+         * @return The registered value, or null if there is none.
+         */
+        String resolve(String path) {
+            Object value = Placeholder.this.placeholders.get(path);
+            if (!(value instanceof Lazy lazy)) {
+                return (String) value;
+            }
+
+            if (this.resolved == null) {
+                this.resolved = new String[Placeholder.this.lazyCount];
+            }
+
+            String result = this.resolved[lazy.index()];
+            if (result == null) {
+                result = String.valueOf(lazy.supplier().get());
+                this.resolved[lazy.index()] = result;
+            }
+            return result;
         }
-        return str;
     }
 
     /**
@@ -101,5 +412,26 @@ public class Placeholder {
         public char getTail() {
             return this.tail;
         }
+
+        /**
+         * Finds the closing character of the placeholder opened at the given index.
+         *
+         * @param str  The string to search.
+         * @param head The index of the opening character.
+         * @return The index of the closing character, or -1 if no valid placeholder starts at the given index.
+         */
+        int findTail(CharSequence str, int head) {
+            for (int i = head + 1; i < str.length(); i++) {
+                char c = str.charAt(i);
+                if (c == this.tail) {
+                    // empty names are not placeholders, e.g. the "%%" of "100%%name%"
+                    return i == head + 1 ? -1 : i;
+                }
+                if (c == this.head) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
     }
 }
\ No newline at end of file
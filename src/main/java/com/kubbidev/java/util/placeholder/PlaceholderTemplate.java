@@ -0,0 +1,124 @@
+package com.kubbidev.java.util.placeholder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A formula string precompiled into literal and placeholder segments.
+ *
+ * <p>The string is scanned for placeholders only once, when the template is compiled.
+ * Rendering it then appends each literal segment and looks each placeholder up in a
+ * {@link Placeholder} registry, in a single pass over a {@link StringBuilder}.</p>
+ *
+ * <p>Templates are immutable and can be rendered by any number of registries.</p>
+ */
+public final class PlaceholderTemplate {
+
+    /**
+     * Compiles the given formula string.
+     *
+     * @param str     The formula string containing placeholders.
+     * @param closure The closure type used for defining placeholders.
+     * @return The compiled template.
+     */
+    public static PlaceholderTemplate compile(String str, Placeholder.Closure closure) {
+        List<String> literals = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        List<Integer> tails = new ArrayList<>();
+
+        char head = closure.getHead();
+        int last = 0;
+
+        int i = str.indexOf(head);
+        while (i != -1) {
+            int end = closure.findTail(str, i);
+            if (end == -1) {
+                i = str.indexOf(head, i + 1);
+                continue;
+            }
+
+            literals.add(str.substring(last, i));
+            paths.add(str.substring(i + 1, end));
+            tails.add(end);
+            last = end + 1;
+
+            i = str.indexOf(head, last);
+        }
+        literals.add(str.substring(last));
+
+        return new PlaceholderTemplate(str, closure, literals.toArray(new String[0]), paths.toArray(new String[0]),
+                tails.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private final String source;
+    private final Placeholder.Closure closure;
+
+    // literals[i] comes before paths[i], and the last literal comes after the last path
+    private final String[] literals;
+    private final String[] paths;
+    // the index of the tail of each path in the source
+    private final int[] tails;
+
+    private PlaceholderTemplate(String source, Placeholder.Closure closure, String[] literals, String[] paths, int[] tails) {
+        this.source = source;
+        this.closure = closure;
+        this.literals = literals;
+        this.paths = paths;
+        this.tails = tails;
+    }
+
+    /**
+     * Gets the formula string this template was compiled from.
+     *
+     * @return The source formula string.
+     */
+    public String getSource() {
+        return this.source;
+    }
+
+    /**
+     * Renders this template with the values registered in the given registry.
+     * Placeholders whose name is not registered are left untouched.
+     *
+     * @param placeholders The registry holding the placeholder values.
+     * @return The rendered string.
+     */
+    public String render(Placeholder placeholders) {
+        if (this.paths.length == 0) {
+            return this.source;
+        }
+
+        Placeholder.Resolver resolver = placeholders.resolver();
+
+        StringBuilder builder = new StringBuilder(this.source.length() + 16);
+        for (int i = 0; i < this.paths.length; i++) {
+            builder.append(this.literals[i]);
+
+            String path = this.paths[i];
+            String value = resolver.resolve(path);
+            if (value != null) {
+                builder.append(value);
+            } else if (this.closure.getHead() == this.closure.getTail()) {
+                // the tail of an unknown name may be the head of a placeholder the segments do not account for,
+                // so the rest of the source is scanned again
+                builder.append(this.closure.getHead()).append(path);
+                try {
+                    placeholders.apply(this.source, this.tails[i], builder, resolver);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return builder.toString();
+            } else {
+                builder.append(this.closure.getHead()).append(path).append(this.closure.getTail());
+            }
+        }
+        return builder.append(this.literals[this.paths.length]).toString();
+    }
+
+    @Override
+    public String toString() {
+        return "PlaceholderTemplate(" + this.source + ")";
+    }
+}